@@ -1,11 +1,13 @@
 package com.example.demo;
 
-import com.example.demo.model.persistence.Cart;
-import com.example.demo.model.persistence.User;
-import com.example.demo.model.persistence.repositories.UserRepository;
+import com.example.demo.security.BoundedPasswordEncoder;
+import com.example.demo.startup.DataSeeder;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.boot.autoconfigure.security.servlet.SecurityAutoConfiguration;
 import org.springframework.context.annotation.Bean;
@@ -16,26 +18,23 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 @EntityScan("com.example.demo.model.persistence")
 @SpringBootApplication(exclude = SecurityAutoConfiguration.class)
 public class SareetaApplication {
-	private static final String ADMIN = "admin";
-	private static final String PASSWORD = "password";
 
 	public static void main(String[] args) {
 		SpringApplication.run(SareetaApplication.class, args);
 	}
 
 	@Bean
-	CommandLineRunner createDefaultUser(UserRepository userRepository) {
-		return args  -> {
-			User user = new User();
-			user.setUsername(ADMIN);
-			user.setPassword(bCryptPasswordEncoder().encode(PASSWORD));
-			user.setCart(new Cart());
-			userRepository.save(user);
-		};
+	@ConditionalOnProperty(name = "startup.deferred-seeding", havingValue = "false", matchIfMissing = true)
+	CommandLineRunner createDefaultUser(DataSeeder dataSeeder) {
+		return args -> dataSeeder.createDefaultUser();
 	}
 
-	@Bean
-	BCryptPasswordEncoder bCryptPasswordEncoder() {
-		return new BCryptPasswordEncoder();
+	@Bean(destroyMethod = "shutdown")
+	BoundedPasswordEncoder passwordEncoder(MeterRegistry meterRegistry,
+										   @Value("${security.password-hashing.threads:0}") int threads,
+										   @Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+										   @Value("${security.password-hashing.timeout-ms:5000}") long timeoutMillis) {
+		int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, timeoutMillis, meterRegistry);
 	}
 }
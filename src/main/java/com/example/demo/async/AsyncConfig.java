@@ -0,0 +1,25 @@
+package com.example.demo.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@ConditionalOnProperty(name = "app.async.enabled", havingValue = "true")
+public class AsyncConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public DbExecutor dbExecutor(EntityManagerFactory entityManagerFactory,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.async.db-threads:0}") int threads,
+                                 @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize,
+                                 @Value("${app.async.queue-capacity:1000}") int queueCapacity) {
+        // more threads than connections would only move the queue into the connection pool
+        int poolThreads = threads > 0 ? threads : connectionPoolSize;
+        return new DbExecutor(entityManagerFactory, poolThreads, queueCapacity, meterRegistry);
+    }
+}
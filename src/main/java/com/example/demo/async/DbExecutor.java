@@ -0,0 +1,93 @@
+package com.example.demo.async;
+
+import com.example.demo.sql.QueryStats;
+import com.example.demo.sql.QueryStatsContext;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs blocking repository work for the async controllers on a fixed pool with as many threads as
+ * the JDBC pool has connections, so a request thread is released while the database round trip is in
+ * flight and queued work waits here instead of inside the connection pool. When the pool and its
+ * queue are full, callers fail fast with {@link DbExecutorUnavailableException} (HTTP 503).
+ * <p>
+ * The open-in-view {@code EntityManager} of the calling request, if any, is bound on the worker
+ * thread for the duration of the task. Spring MVC rebinds it for the async dispatch that writes the
+ * response, so lazy associations can still be serialized exactly as in the blocking controllers.
+ * The request's {@link QueryStats} are bound the same way, so the work is counted against it.
+ */
+public class DbExecutor {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ThreadPoolExecutor executor;
+    private final ExecutorService monitoredExecutor;
+    private final Counter rejected;
+
+    public DbExecutor(EntityManagerFactory entityManagerFactory, int threads, int queueCapacity, MeterRegistry meterRegistry) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new DbThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+        // executor.* meters: pool size, active and queued tasks, execution and idle time
+        this.monitoredExecutor = ExecutorServiceMetrics.monitor(meterRegistry, executor, "db.executor");
+        this.rejected = Counter.builder("db.executor.rejected")
+                .description("Tasks refused because the database executor was saturated")
+                .register(meterRegistry);
+    }
+
+    public <T> CompletableFuture<T> supply(Supplier<T> work) {
+        EntityManagerHolder holder = (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+        QueryStats queryStats = QueryStatsContext.current();
+        try {
+            return CompletableFuture.supplyAsync(() -> runWith(holder, queryStats, work), monitoredExecutor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new DbExecutorUnavailableException("Database executor is saturated", e);
+        }
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T runWith(EntityManagerHolder holder, QueryStats queryStats, Supplier<T> work) {
+        QueryStats previous = QueryStatsContext.bind(queryStats);
+        try {
+            if (holder == null) {
+                return work.get();
+            }
+            TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+            try {
+                return work.get();
+            } finally {
+                TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            }
+        } finally {
+            QueryStatsContext.bind(previous);
+        }
+    }
+
+    private static final class DbThreadFactory implements ThreadFactory {
+        private final AtomicInteger count = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "db-executor-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.demo.async;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the database executor cannot take more work.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class DbExecutorUnavailableException extends RuntimeException {
+
+    DbExecutorUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
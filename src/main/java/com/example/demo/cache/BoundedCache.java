@@ -0,0 +1,200 @@
+package com.example.demo.cache;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Small thread-safe LRU cache with a maximum size and a time-to-live per entry.
+ * Hits, misses, size evictions and expirations are counted so they can be published as metrics.
+ */
+public class BoundedCache<K, V> {
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    // Bumped on every invalidation so that values loaded before it are not written back afterwards
+    private long generation;
+
+    public BoundedCache(int maximumSize, long ttl, TimeUnit unit) {
+        this(maximumSize, ttl, unit, System::nanoTime);
+    }
+
+    BoundedCache(int maximumSize, long ttl, TimeUnit unit, LongSupplier ticker) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (ttl <= 0) {
+            throw new IllegalArgumentException("ttl must be positive: " + ttl);
+        }
+        this.maximumSize = maximumSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.ticker = ticker;
+    }
+
+    public V getIfPresent(K key) {
+        synchronized (entries) {
+            Entry<V> entry = entries.get(key);
+            if (entry == null) {
+                misses.increment();
+                return null;
+            }
+            if (entry.expiresAt - ticker.getAsLong() <= 0) {
+                entries.remove(key);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return entry.value;
+        }
+    }
+
+    /**
+     * Returns the cached value or loads it with {@code loader}. The loader runs outside the lock;
+     * {@code null} results are not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        long loadGeneration;
+        synchronized (entries) {
+            V value = getIfPresent(key);
+            if (value != null) {
+                return value;
+            }
+            loadGeneration = generation;
+        }
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (entries) {
+                if (generation == loadGeneration) {
+                    store(key, loaded, ttlNanos);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Returns the values of all {@code keys} that are cached or can be loaded. Keys that are not cached
+     * are passed to {@code loader} together, so they can be fetched with a single query; like
+     * {@link #get}, the loader runs outside the lock and keys it does not return are not cached.
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys, Function<? super Set<K>, ? extends Map<? extends K, ? extends V>> loader) {
+        Map<K, V> found = new LinkedHashMap<>();
+        Set<K> missing = new LinkedHashSet<>();
+        long loadGeneration;
+        synchronized (entries) {
+            for (K key : keys) {
+                V value = getIfPresent(key);
+                if (value != null) {
+                    found.put(key, value);
+                } else {
+                    missing.add(key);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (missing.isEmpty()) {
+            return found;
+        }
+        Map<? extends K, ? extends V> loaded = loader.apply(Collections.unmodifiableSet(missing));
+        synchronized (entries) {
+            for (K key : missing) {
+                V value = loaded.get(key);
+                if (value == null) {
+                    continue;
+                }
+                found.put(key, value);
+                if (generation == loadGeneration) {
+                    store(key, value, ttlNanos);
+                }
+            }
+        }
+        return found;
+    }
+
+    public void put(K key, V value) {
+        put(key, value, ttlNanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void put(K key, V value, long ttl, TimeUnit unit) {
+        synchronized (entries) {
+            store(key, value, unit.toNanos(ttl));
+        }
+    }
+
+    public void invalidate(K key) {
+        synchronized (entries) {
+            entries.remove(key);
+            generation++;
+        }
+    }
+
+    public void invalidateAll() {
+        synchronized (entries) {
+            entries.clear();
+            generation++;
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    public int maximumSize() {
+        return maximumSize;
+    }
+
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    public long missCount() {
+        return misses.sum();
+    }
+
+    public long evictionCount() {
+        return evictions.sum();
+    }
+
+    public long expirationCount() {
+        return expirations.sum();
+    }
+
+    private void store(K key, V value, long ttl) {
+        entries.put(key, new Entry<>(value, ticker.getAsLong() + ttl));
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maximumSize && eldest.hasNext()) {
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * Publishes the counters of a {@link BoundedCache} using the same meter names as Micrometer's cache binders.
+ */
+public class BoundedCacheMetrics implements MeterBinder {
+
+    private final BoundedCache<?, ?> cache;
+    private final String name;
+
+    public BoundedCacheMetrics(BoundedCache<?, ?> cache, String name) {
+        this.cache = cache;
+        this.name = name;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("cache.gets", cache, BoundedCache::hitCount)
+                .tag("cache", name).tag("result", "hit")
+                .description("Number of cache lookups that returned a value")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", cache, BoundedCache::missCount)
+                .tag("cache", name).tag("result", "miss")
+                .description("Number of cache lookups that found no live value")
+                .register(registry);
+        FunctionCounter.builder("cache.evictions", cache, BoundedCache::evictionCount)
+                .tag("cache", name)
+                .description("Number of entries evicted because the cache was full")
+                .register(registry);
+        FunctionCounter.builder("cache.expirations", cache, BoundedCache::expirationCount)
+                .tag("cache", name)
+                .description("Number of entries dropped because their time-to-live had passed")
+                .register(registry);
+        Gauge.builder("cache.size", cache, BoundedCache::size)
+                .tag("cache", name)
+                .register(registry);
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.demo.cart;
+
+import com.example.demo.model.persistence.Cart;
+import com.example.demo.model.persistence.User;
+import com.example.demo.model.persistence.repositories.CartRepository;
+import com.example.demo.model.persistence.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+import java.util.concurrent.locks.Lock;
+import java.util.function.Consumer;
+
+/**
+ * Serializes cart changes per user. The user's lock is taken before the cart is read and released only
+ * after the transaction that writes it has committed, so concurrent changes to one cart are applied one
+ * after another instead of overwriting each other. Different users almost never share a lock.
+ * <p>
+ * The lock only covers this JVM; {@code @Version} on {@link Cart} rejects conflicting writes from other
+ * instances with an optimistic locking failure.
+ */
+@Service
+public class CartService {
+
+    private final UserRepository userRepository;
+    private final CartRepository cartRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final StripedLock locks;
+
+    public CartService(UserRepository userRepository,
+                       CartRepository cartRepository,
+                       PlatformTransactionManager transactionManager,
+                       @Value("${cart.lock.stripes:1024}") int stripes) {
+        this.userRepository = userRepository;
+        this.cartRepository = cartRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.locks = new StripedLock(stripes);
+    }
+
+    /**
+     * Applies {@code change} to the cart of {@code username} and saves it.
+     *
+     * @return the updated cart, or empty if there is no such user
+     */
+    public Optional<Cart> update(String username, Consumer<Cart> change) {
+        Lock lock = locks.get(username);
+        lock.lock();
+        try {
+            return transactionTemplate.execute(status -> {
+                User user = userRepository.findWithCartByUsername(username);
+                if (user == null) {
+                    return Optional.empty();
+                }
+                Cart cart = user.getCart();
+                change.accept(cart);
+                cartRepository.save(cart);
+                return Optional.of(cart);
+            });
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.demo.cart;
+
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fixed set of locks selected by key hash. Equal keys always map to the same lock; different keys
+ * only share one when their hashes collide on a stripe, so the stripe count bounds both memory and
+ * the chance of unrelated keys contending.
+ */
+public class StripedLock {
+
+    private final ReentrantLock[] locks;
+    private final int mask;
+
+    public StripedLock(int stripes) {
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+        int size = 1;
+        while (size < stripes) {
+            size <<= 1;
+        }
+        this.locks = new ReentrantLock[size];
+        for (int i = 0; i < size; i++) {
+            locks[i] = new ReentrantLock();
+        }
+        this.mask = size - 1;
+    }
+
+    public Lock get(Object key) {
+        int hash = key.hashCode();
+        // spread the high bits so keys differing only there still land on different stripes
+        hash ^= hash >>> 16;
+        return locks[hash & mask];
+    }
+
+    public int stripes() {
+        return locks.length;
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.demo.catalog;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 style records one at a time: fields separated by commas, optionally enclosed in
+ * double quotes, with {@code ""} escaping a quote and line breaks allowed inside quoted fields.
+ * Carriage returns outside quotes are ignored.
+ */
+final class CsvReader {
+
+    private final Reader in;
+
+    /**
+     * @param in read one character at a time, so it should be buffered
+     */
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    /**
+     * Returns the fields of the next record, or {@code null} at the end of the input.
+     *
+     * @throws EOFException if the input ends inside a quoted field
+     */
+    List<String> next() throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean fieldWasQuoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == -1) {
+                    throw new EOFException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    c = in.read();
+                    if (c == '"') {
+                        field.append('"');
+                        c = in.read();
+                    } else {
+                        quoted = false;
+                    }
+                    continue;
+                }
+                field.append((char) c);
+            } else if (c == '"' && field.length() == 0 && !fieldWasQuoted) {
+                quoted = true;
+                fieldWasQuoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldWasQuoted = false;
+            } else if (c == '\n' || c == -1) {
+                fields.add(field.toString());
+                return fields;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+            c = in.read();
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.example.demo.catalog;
+
+import com.example.demo.cache.BoundedCache;
+import com.example.demo.cache.BoundedCacheMetrics;
+import com.example.demo.catalog.snapshot.CatalogSnapshot;
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.model.responses.ItemPage;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Read-through cache in front of {@link ItemRepository}. Item writes must go through
+ * {@link #save(Item)} (or be followed by {@link #invalidate(Long)}) so cached entries stay consistent.
+ */
+@Service
+public class ItemCatalog implements MeterBinder {
+
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final String ALL_ITEMS = "all";
+
+    private final ItemRepository itemRepository;
+    private final BoundedCache<Long, Item> itemsById;
+    private final BoundedCache<String, List<Item>> itemsByName;
+    private final BoundedCache<String, List<Item>> listing;
+    private final List<ItemChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    // starts at the boot time so versions handed out by a previous run are never reused
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+    private volatile CatalogSnapshot snapshot;
+
+    public ItemCatalog(ItemRepository itemRepository,
+                       @Value("${catalog.cache.maximum-size:10000}") int maximumSize,
+                       @Value("${catalog.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.itemRepository = itemRepository;
+        this.itemsById = new BoundedCache<>(maximumSize, ttlSeconds, TimeUnit.SECONDS);
+        this.itemsByName = new BoundedCache<>(maximumSize, ttlSeconds, TimeUnit.SECONDS);
+        this.listing = new BoundedCache<>(1, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    public Optional<Item> findById(Long id) {
+        return Optional.ofNullable(itemsById.get(id, this::load));
+    }
+
+    /**
+     * Returns the items with the given ids that exist, keyed by id. Ids that are not cached are read
+     * from the snapshot, and those it does not hold with one {@code findAllById} query.
+     */
+    public Map<Long, Item> findAllById(Collection<Long> ids) {
+        return itemsById.getAll(ids, this::loadAll);
+    }
+
+    public List<Item> findByName(String name) {
+        return itemsByName.get(name, key -> snapshot(itemRepository.findByName(key)));
+    }
+
+    public List<Item> findAll() {
+        return listing.get(ALL_ITEMS, key -> snapshot(itemRepository.findAll()));
+    }
+
+    /**
+     * Reads one page of the catalog ordered by {@code sort}, starting after the position encoded in
+     * {@code after} (or from the beginning when it is {@code null}). Pages are read from the database
+     * with a keyset seek, so the cost does not grow with the page number. The size is clamped to
+     * {@link #MAX_PAGE_SIZE}.
+     *
+     * @throws IllegalArgumentException if the cursor is malformed or belongs to another sort
+     */
+    public ItemPage findPage(ItemSort sort, String after, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // one extra row tells whether there is a next page without a count query
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Item> items = after == null
+                ? sort.firstPage(itemRepository, limit)
+                : sort.pageAfter(itemRepository, ItemCursor.decode(after, sort), limit);
+
+        if (items.size() <= pageSize) {
+            return new ItemPage(items, null);
+        }
+        List<Item> page = new ArrayList<>(items.subList(0, pageSize));
+        Item last = page.get(pageSize - 1);
+        return new ItemPage(page, new ItemCursor(sort, last.getId(), sort.keyOf(last)).encode());
+    }
+
+    public Item save(Item item) {
+        Item saved = itemRepository.save(item);
+        invalidate(saved.getId());
+        changeListeners.forEach(listener -> listener.itemSaved(saved));
+        // again, so no version is issued for a search index that has not caught up yet
+        version.incrementAndGet();
+        return saved;
+    }
+
+    public void delete(Long id) {
+        itemRepository.deleteById(id);
+        invalidate(id);
+        changeListeners.forEach(listener -> listener.itemDeleted(id));
+        version.incrementAndGet();
+    }
+
+    /**
+     * Changes whenever an item write goes through the catalog. Read it before the data it describes:
+     * a concurrent write then yields a version that is already outdated, never one that is too new.
+     */
+    public long version() {
+        return version.get();
+    }
+
+    public void addChangeListener(ItemChangeListener listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Loads items missing from the cache from {@code snapshot} from now on, and only those it does not
+     * hold from the repository. Cached items stay: cache hits return the same instance and allocate
+     * nothing, while every snapshot read materializes a new one.
+     */
+    public void useSnapshot(CatalogSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+
+    public void invalidate(Long id) {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            current.evict(id);
+        }
+        itemsById.invalidate(id);
+        // the old name of a changed item is unknown here, so every name lookup and the listing are dropped
+        itemsByName.invalidateAll();
+        listing.invalidateAll();
+        version.incrementAndGet();
+    }
+
+    /**
+     * To be called after items were written without going through the catalog. Listeners catch up
+     * before the version changes, so the new version never tags what they held before.
+     */
+    public void invalidateAll() {
+        changeListeners.forEach(ItemChangeListener::catalogChanged);
+        itemsById.invalidateAll();
+        itemsByName.invalidateAll();
+        listing.invalidateAll();
+        version.incrementAndGet();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        new BoundedCacheMetrics(itemsById, "items.byId").bindTo(registry);
+        new BoundedCacheMetrics(itemsByName, "items.byName").bindTo(registry);
+        new BoundedCacheMetrics(listing, "items.all").bindTo(registry);
+    }
+
+    private Item load(Long id) {
+        CatalogSnapshot current = snapshot;
+        Item mapped = current == null ? null : current.find(id);
+        return mapped != null ? mapped : itemRepository.findById(id).orElse(null);
+    }
+
+    private Map<Long, Item> loadAll(Set<Long> ids) {
+        CatalogSnapshot current = snapshot;
+        Map<Long, Item> loaded = new HashMap<>();
+        Set<Long> missing = new LinkedHashSet<>();
+        for (Long id : ids) {
+            Item mapped = current == null ? null : current.find(id);
+            if (mapped != null) {
+                loaded.put(id, mapped);
+            } else {
+                missing.add(id);
+            }
+        }
+        if (!missing.isEmpty()) {
+            for (Item item : itemRepository.findAllById(missing)) {
+                loaded.put(item.getId(), item);
+            }
+        }
+        return loaded;
+    }
+
+    private static List<Item> snapshot(List<Item> items) {
+        return items == null ? null : Collections.unmodifiableList(new ArrayList<>(items));
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.demo.catalog;
+
+import com.example.demo.model.persistence.Item;
+
+/**
+ * Notified by {@link ItemCatalog} after an item write has been applied to the repository.
+ */
+public interface ItemChangeListener {
+
+    void itemSaved(Item item);
+
+    void itemDeleted(Long id);
+
+    /**
+     * Any number of items changed without going through the catalog, for example by an import.
+     */
+    void catalogChanged();
+}
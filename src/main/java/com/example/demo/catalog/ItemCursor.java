@@ -0,0 +1,56 @@
+package com.example.demo.catalog;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position handed to clients as {@code nextCursor}: the sort it belongs to, the id
+ * of the last item returned and that item's sort key, Base64url encoded.
+ */
+final class ItemCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final ItemSort sort;
+    private final long id;
+    private final String key;
+
+    ItemCursor(ItemSort sort, long id, String key) {
+        this.sort = sort;
+        this.id = id;
+        this.key = key;
+    }
+
+    long getId() {
+        return id;
+    }
+
+    String getKey() {
+        return key;
+    }
+
+    String encode() {
+        String raw = sort.name() + SEPARATOR + id + SEPARATOR + key;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ItemCursor decode(String cursor, ItemSort expectedSort) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int first = raw.indexOf(SEPARATOR);
+            int second = raw.indexOf(SEPARATOR, first + 1);
+            if (first < 0 || second < 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            ItemSort sort = ItemSort.valueOf(raw.substring(0, first));
+            if (sort != expectedSort) {
+                throw new IllegalArgumentException("Cursor was issued for sort " + sort);
+            }
+            long id = Long.parseLong(raw.substring(first + 1, second));
+            return new ItemCursor(sort, id, raw.substring(second + 1));
+        } catch (IllegalArgumentException e) {
+            // also covers bad Base64, unknown sort names and NumberFormatException
+            throw new IllegalArgumentException("Malformed cursor", e);
+        }
+    }
+}
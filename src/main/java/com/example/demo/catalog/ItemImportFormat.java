@@ -0,0 +1,21 @@
+package com.example.demo.catalog;
+
+import java.util.Locale;
+
+public enum ItemImportFormat {
+    /** Comma separated with a header row naming the {@code name}, {@code price} and {@code description} columns. */
+    CSV,
+    /** One JSON object per line with {@code name}, {@code price} and {@code description} fields. */
+    NDJSON;
+
+    public static ItemImportFormat fromFileName(String fileName) {
+        String lower = fileName.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".csv")) {
+            return CSV;
+        }
+        if (lower.endsWith(".ndjson") || lower.endsWith(".jsonl")) {
+            return NDJSON;
+        }
+        throw new IllegalArgumentException("Cannot tell the import format of " + fileName + " (expected .csv, .ndjson or .jsonl)");
+    }
+}
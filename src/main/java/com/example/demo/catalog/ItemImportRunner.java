@@ -0,0 +1,48 @@
+package com.example.demo.catalog;
+
+import com.example.demo.model.responses.ItemImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Command line import, e.g.
+ * <pre>
+ * java -jar app.jar --catalog.import.file=items.csv --spring.main.web-application-type=none
+ * </pre>
+ * Without a web server the application exits once the import has finished.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.import.file")
+public class ItemImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemImportRunner.class);
+
+    private final ItemImporter itemImporter;
+    private final Path file;
+
+    public ItemImportRunner(ItemImporter itemImporter, @Value("${catalog.import.file}") String file) {
+        this.itemImporter = itemImporter;
+        this.file = Paths.get(file);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws IOException {
+        ItemImportFormat format = ItemImportFormat.fromFileName(file.getFileName().toString());
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            ItemImportResult result = itemImporter.importItems(reader, format);
+            result.getErrors().forEach(error -> log.warn("Rejected {}", error));
+        }
+    }
+}
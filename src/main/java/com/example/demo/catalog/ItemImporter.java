@@ -0,0 +1,259 @@
+package com.example.demo.catalog;
+
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.model.responses.ItemImportResult;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Streams item records from CSV or NDJSON into the catalog. Records are parsed one at a time and
+ * written through {@link ItemRepository} in transactions of {@code catalog.import.batch-size} items,
+ * each flushed as JDBC batches and then cleared from the persistence context, so memory use does
+ * not depend on the size of the input. Invalid records are skipped and reported; records already
+ * committed stay imported if a later batch fails.
+ */
+@Service
+public class ItemImporter {
+
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final Logger log = LoggerFactory.getLogger(ItemImporter.class);
+
+    private static final int MAX_TEXT_LENGTH = 255;
+    // item.price is decimal(19, 2)
+    private static final int PRICE_SCALE = 2;
+    private static final int PRICE_PRECISION = 19;
+
+    private final ItemRepository itemRepository;
+    private final ItemCatalog itemCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final ObjectReader jsonReader;
+    private final int batchSize;
+    private final Counter importedRows;
+    private final Counter rejectedRows;
+
+    public ItemImporter(ItemRepository itemRepository,
+                        ItemCatalog itemCatalog,
+                        PlatformTransactionManager transactionManager,
+                        EntityManager entityManager,
+                        ObjectMapper objectMapper,
+                        MeterRegistry meterRegistry,
+                        @Value("${catalog.import.batch-size:1000}") int batchSize) {
+        this.itemRepository = itemRepository;
+        this.itemCatalog = itemCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.entityManager = entityManager;
+        this.jsonReader = objectMapper.reader().with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS);
+        this.batchSize = batchSize;
+        this.importedRows = Counter.builder("catalog.import.rows")
+                .tag("outcome", "imported")
+                .register(meterRegistry);
+        this.rejectedRows = Counter.builder("catalog.import.rows")
+                .tag("outcome", "rejected")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @throws IllegalArgumentException if a CSV header lacks a required column
+     */
+    public ItemImportResult importItems(Reader reader, ItemImportFormat format) throws IOException {
+        BufferedReader in = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 64 * 1024);
+        ImportRun run = new ImportRun();
+        try {
+            if (format == ItemImportFormat.CSV) {
+                readCsv(in, run);
+            } else {
+                readNdjson(in, run);
+            }
+            run.flush();
+        } finally {
+            if (run.imported > 0) {
+                // rebuilds the search index and the snapshot before the catalog version changes
+                itemCatalog.invalidateAll();
+            }
+        }
+        long elapsedNanos = run.elapsedNanos;
+        long rows = run.imported + run.rejected;
+        double rowsPerSecond = elapsedNanos == 0 ? 0 : rows / (elapsedNanos / 1e9);
+        log.info("Imported {} items, rejected {} rows in {} ms ({} rows/s)", run.imported, run.rejected,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(rowsPerSecond));
+        return new ItemImportResult(run.imported, run.rejected, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rowsPerSecond, run.errors);
+    }
+
+    private void readCsv(BufferedReader in, ImportRun run) throws IOException {
+        CsvReader csv = new CsvReader(in);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        int name = column(header, "name");
+        int price = column(header, "price");
+        int description = column(header, "description");
+
+        long row = 1;
+        while (true) {
+            List<String> fields;
+            row++;
+            try {
+                fields = csv.next();
+            } catch (EOFException e) {
+                run.reject(row, e.getMessage());
+                return;
+            }
+            if (fields == null) {
+                return;
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() != header.size()) {
+                run.reject(row, "expected " + header.size() + " fields but found " + fields.size());
+                continue;
+            }
+            run.accept(row, fields.get(name), fields.get(price), fields.get(description));
+        }
+    }
+
+    private void readNdjson(BufferedReader in, ImportRun run) throws IOException {
+        long row = 0;
+        String line;
+        while ((line = in.readLine()) != null) {
+            row++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            JsonNode node;
+            try {
+                node = jsonReader.readTree(line);
+            } catch (JsonProcessingException e) {
+                run.reject(row, "malformed JSON");
+                continue;
+            }
+            if (!node.isObject()) {
+                run.reject(row, "expected a JSON object");
+                continue;
+            }
+            run.accept(row, text(node, "name"), text(node, "price"), text(node, "description"));
+        }
+    }
+
+    private static int column(List<String> header, String name) {
+        for (int i = 0; i < header.size(); i++) {
+            if (header.get(i).trim().toLowerCase(Locale.ROOT).equals(name)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("The CSV header has no '" + name + "' column");
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private final class ImportRun {
+        private final long start = System.nanoTime();
+        private final List<Item> batch = new ArrayList<>(batchSize);
+        private final List<String> errors = new ArrayList<>();
+        private long imported;
+        private long rejected;
+        private long elapsedNanos;
+
+        void accept(long row, String name, String price, String description) {
+            String error = validate(name, price, description);
+            if (error != null) {
+                reject(row, error);
+                return;
+            }
+            Item item = new Item();
+            item.setName(name.trim());
+            item.setPrice(new BigDecimal(price.trim()));
+            item.setDescription(description);
+            batch.add(item);
+            if (batch.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void reject(long row, String reason) {
+            rejected++;
+            rejectedRows.increment();
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add("row " + row + ": " + reason);
+            }
+        }
+
+        void flush() {
+            if (!batch.isEmpty()) {
+                transactionTemplate.execute(status -> {
+                    itemRepository.saveAll(batch);
+                    // write the inserts now and drop the entities, so the context never holds more than one batch
+                    entityManager.flush();
+                    entityManager.clear();
+                    return null;
+                });
+                imported += batch.size();
+                importedRows.increment(batch.size());
+                batch.clear();
+            }
+            elapsedNanos = System.nanoTime() - start;
+        }
+    }
+
+    private static String validate(String name, String price, String description) {
+        if (name == null || name.trim().isEmpty()) {
+            return "name is missing";
+        }
+        if (name.trim().length() > MAX_TEXT_LENGTH) {
+            return "name is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (description == null) {
+            return "description is missing";
+        }
+        if (description.length() > MAX_TEXT_LENGTH) {
+            return "description is longer than " + MAX_TEXT_LENGTH + " characters";
+        }
+        if (price == null || price.trim().isEmpty()) {
+            return "price is missing";
+        }
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(price.trim());
+        } catch (NumberFormatException e) {
+            return "price '" + price + "' is not a number";
+        }
+        if (amount.signum() < 0) {
+            return "price is negative";
+        }
+        BigDecimal normalized = amount.stripTrailingZeros();
+        if (normalized.scale() > PRICE_SCALE || normalized.precision() - normalized.scale() > PRICE_PRECISION - PRICE_SCALE) {
+            return "price " + price + " does not fit decimal(" + PRICE_PRECISION + ", " + PRICE_SCALE + ")";
+        }
+        return null;
+    }
+}
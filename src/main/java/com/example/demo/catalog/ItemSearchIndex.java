@@ -0,0 +1,272 @@
+package com.example.demo.catalog;
+
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+/**
+ * In-process inverted index over item names and descriptions.
+ * <p>
+ * Terms are kept in a sorted map so a query token matches every indexed term it is a prefix of.
+ * All query tokens must match (AND). Each token contributes the best of its matches, with name
+ * matches ranked above description matches and whole-word matches above prefix matches.
+ * The index is built from the repository once the application is ready and is then kept up to
+ * date through {@link ItemCatalog} change notifications, rebuilding it after bulk changes. A rebuild
+ * fills a new index without holding the lock and swaps it in once complete, so searches keep being
+ * answered from the previous one meanwhile.
+ */
+@Component
+public class ItemSearchIndex implements ItemChangeListener {
+
+    private static final Logger log = LoggerFactory.getLogger(ItemSearchIndex.class);
+
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    // field bits stored per (term, item) posting
+    private static final int NAME = 1;
+    private static final int DESCRIPTION = 2;
+
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // held for a whole rebuild, so only one runs at a time
+    private final Object rebuildLock = new Object();
+    // guarded by lock
+    private Index index = new Index();
+    // changes applied while a rebuild reads the repository, replayed onto the new index; guarded by lock
+    private List<Consumer<Index>> changesDuringRebuild;
+
+    public ItemSearchIndex(ItemCatalog itemCatalog, ItemRepository itemRepository, PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        // read-write transactions keep the rebuild on the primary: a lagging replica would leave the index stale
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        itemCatalog.addChangeListener(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (rebuildLock) {
+            long start = System.nanoTime();
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new ArrayList<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            Index rebuilt = new Index();
+            boolean complete = false;
+            try {
+                PageRequest batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+                List<Item> page = transactionTemplate.execute(status -> itemRepository.findAllByOrderByIdAsc(batch));
+                while (!page.isEmpty()) {
+                    page.forEach(rebuilt::add);
+                    Long last = page.get(page.size() - 1).getId();
+                    page = transactionTemplate.execute(status -> itemRepository.findByIdGreaterThanOrderByIdAsc(last, batch));
+                }
+                complete = true;
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    if (complete) {
+                        changesDuringRebuild.forEach(change -> change.accept(rebuilt));
+                        index = rebuilt;
+                    }
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+            log.info("Indexed {} items ({} terms) in {} ms", rebuilt.items.size(), rebuilt.postings.size(),
+                    (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    /**
+     * Returns at most {@code limit} items matching every token of {@code query}, best match first.
+     */
+    public List<Item> search(String query, int limit) {
+        List<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) {
+            return Collections.emptyList();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<Long, Integer> scores = null;
+            for (String token : tokens) {
+                scores = score(index, token, scores);
+                if (scores.isEmpty()) {
+                    return Collections.emptyList();
+                }
+            }
+            return top(index, scores, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return index.items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void itemSaved(Item item) {
+        apply(target -> {
+            target.remove(item.getId());
+            target.add(item);
+        });
+    }
+
+    @Override
+    public void itemDeleted(Long id) {
+        apply(target -> target.remove(id));
+    }
+
+    @Override
+    public void catalogChanged() {
+        rebuild();
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String token : SEPARATORS.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return new ArrayList<>(tokens);
+    }
+
+    private void apply(Consumer<Index> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(index);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Scores every item matching {@code token}. When {@code previous} is given, only items that matched
+     * all earlier tokens are kept and their scores are added up.
+     */
+    private static Map<Long, Integer> score(Index index, String token, Map<Long, Integer> previous) {
+        Map<Long, Integer> scores = new HashMap<>();
+        for (Map.Entry<String, Map<Long, Integer>> term : index.postings.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+            boolean exact = term.getKey().length() == token.length();
+            for (Map.Entry<Long, Integer> posting : term.getValue().entrySet()) {
+                if (previous != null && !previous.containsKey(posting.getKey())) {
+                    continue;
+                }
+                scores.merge(posting.getKey(), weight(posting.getValue(), exact), Math::max);
+            }
+        }
+        if (previous != null) {
+            scores.replaceAll((id, score) -> score + previous.get(id));
+        }
+        return scores;
+    }
+
+    private static int weight(int fields, boolean exact) {
+        int weight = 0;
+        if ((fields & NAME) != 0) {
+            weight += exact ? 8 : 4;
+        }
+        if ((fields & DESCRIPTION) != 0) {
+            weight += exact ? 2 : 1;
+        }
+        return weight;
+    }
+
+    private static List<Item> top(Index index, Map<Long, Integer> scores, int limit) {
+        Comparator<Map.Entry<Long, Integer>> ranking = Map.Entry.<Long, Integer>comparingByValue()
+                .reversed()
+                .thenComparing(Map.Entry.comparingByKey());
+        // bounded heap holding the best 'limit' entries, worst of them at the head
+        PriorityQueue<Map.Entry<Long, Integer>> best = new PriorityQueue<>(limit + 1, ranking.reversed());
+        for (Map.Entry<Long, Integer> entry : scores.entrySet()) {
+            best.offer(entry);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Map.Entry<Long, Integer>> ranked = new ArrayList<>(best);
+        ranked.sort(ranking);
+        List<Item> result = new ArrayList<>(ranked.size());
+        for (Map.Entry<Long, Integer> entry : ranked) {
+            result.add(index.items.get(entry.getKey()));
+        }
+        return result;
+    }
+
+    private static final class Index {
+        private final Map<Long, Item> items = new HashMap<>();
+        private final Map<Long, Set<String>> termsByItem = new HashMap<>();
+        private final NavigableMap<String, Map<Long, Integer>> postings = new TreeMap<>();
+
+        void add(Item item) {
+            Map<String, Integer> fields = new HashMap<>();
+            for (String term : tokenize(item.getName())) {
+                fields.merge(term, NAME, (a, b) -> a | b);
+            }
+            for (String term : tokenize(item.getDescription())) {
+                fields.merge(term, DESCRIPTION, (a, b) -> a | b);
+            }
+            fields.forEach((term, mask) -> postings.computeIfAbsent(term, key -> new HashMap<>()).put(item.getId(), mask));
+            termsByItem.put(item.getId(), fields.keySet());
+            items.put(item.getId(), item);
+        }
+
+        void remove(Long id) {
+            Set<String> terms = termsByItem.remove(id);
+            if (terms == null) {
+                return;
+            }
+            for (String term : terms) {
+                Map<Long, Integer> posting = postings.get(term);
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            items.remove(id);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.demo.catalog;
+
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Orderings supported by the paged item listing. Every ordering ends with the item id so the
+ * (sort key, id) pair of the last row is a unique keyset position.
+ */
+public enum ItemSort {
+
+    ID {
+        @Override
+        List<Item> firstPage(ItemRepository repository, Pageable limit) {
+            return repository.findAllByOrderByIdAsc(limit);
+        }
+
+        @Override
+        List<Item> pageAfter(ItemRepository repository, ItemCursor cursor, Pageable limit) {
+            return repository.findByIdGreaterThanOrderByIdAsc(cursor.getId(), limit);
+        }
+
+        @Override
+        String keyOf(Item item) {
+            return "";
+        }
+    },
+
+    NAME {
+        @Override
+        List<Item> firstPage(ItemRepository repository, Pageable limit) {
+            return repository.findAllByOrderByNameAscIdAsc(limit);
+        }
+
+        @Override
+        List<Item> pageAfter(ItemRepository repository, ItemCursor cursor, Pageable limit) {
+            return repository.findNameKeysetPage(cursor.getKey(), cursor.getId(), limit);
+        }
+
+        @Override
+        String keyOf(Item item) {
+            return item.getName();
+        }
+    },
+
+    PRICE {
+        @Override
+        List<Item> firstPage(ItemRepository repository, Pageable limit) {
+            return repository.findAllByOrderByPriceAscIdAsc(limit);
+        }
+
+        @Override
+        List<Item> pageAfter(ItemRepository repository, ItemCursor cursor, Pageable limit) {
+            BigDecimal price;
+            try {
+                price = new BigDecimal(cursor.getKey());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Malformed cursor", e);
+            }
+            return repository.findPriceKeysetPage(price, cursor.getId(), limit);
+        }
+
+        @Override
+        String keyOf(Item item) {
+            return item.getPrice().toPlainString();
+        }
+    };
+
+    abstract List<Item> firstPage(ItemRepository repository, Pageable limit);
+
+    abstract List<Item> pageAfter(ItemRepository repository, ItemCursor cursor, Pageable limit);
+
+    abstract String keyOf(Item item);
+
+    public static ItemSort fromParameter(String value) {
+        try {
+            return valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported sort '" + value + "'", e);
+        }
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.demo.catalog.snapshot;
+
+import com.example.demo.catalog.ItemCatalog;
+import com.example.demo.catalog.ItemChangeListener;
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Serves item lookups by id that miss the {@link ItemCatalog} cache from a memory-mapped
+ * {@link SnapshotFile} instead of the repository.
+ * <p>
+ * Once the application is ready the snapshot at {@code catalog.snapshot.path} is mapped and reused
+ * if its content fingerprint still matches the items in the repository (a warm restart against the
+ * same data), and otherwise rewritten from the repository. Both read the whole item table, on the
+ * primary, but a reused file saves writing and re-faulting the mapping. From then on item writes through
+ * {@link ItemCatalog} append to it, and it is compacted when superseded records outweigh live ones.
+ * Bulk writes that bypass {@link ItemCatalog}, such as imports, are followed by
+ * {@link ItemCatalog#invalidateAll()}, which has it rewritten while the previous file keeps serving.
+ * Until it is open, and for ids it does not hold, {@link ItemCatalog} reads from the repository as
+ * before.
+ */
+@Component
+@ConditionalOnProperty(name = "catalog.snapshot.enabled", havingValue = "true")
+public class CatalogSnapshot implements ItemChangeListener, MeterBinder {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSnapshot.class);
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+    private static final long MIN_COMPACTION_GARBAGE_BYTES = 8L << 20;
+
+    private final ItemCatalog itemCatalog;
+    private final ItemRepository itemRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Path path;
+    private final ThreadLocal<ItemView> views = ThreadLocal.withInitial(ItemView::new);
+    // held while the file is opened or rewritten, so only one load runs at a time
+    private final Object loadLock = new Object();
+    // ids changed while the repository is being read, applied again to the loaded file
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private boolean collecting;
+    private volatile SnapshotFile file;
+
+    public CatalogSnapshot(ItemCatalog itemCatalog,
+                           ItemRepository itemRepository,
+                           PlatformTransactionManager transactionManager,
+                           @Value("${catalog.snapshot.path:catalog.snapshot}") String path) {
+        this.itemCatalog = itemCatalog;
+        this.itemRepository = itemRepository;
+        // read-write transactions keep the reads on the primary: a lagging replica would leave the snapshot stale
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.path = Paths.get(path);
+        itemCatalog.addChangeListener(this);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void open() {
+        synchronized (loadLock) {
+            load(true);
+        }
+    }
+
+    /**
+     * Reads the item from the mapped file into a detached entity.
+     *
+     * @return {@code null} if the snapshot does not hold the item
+     */
+    public Item find(long id) {
+        ItemView view = views.get();
+        return read(id, view) ? view.toItem() : null;
+    }
+
+    /**
+     * Binds {@code view} to the item without copying anything out of the mapped file.
+     */
+    public boolean read(long id, ItemView view) {
+        SnapshotFile current = file;
+        return current != null && current.read(id, view);
+    }
+
+    /**
+     * Drops the item, so reads fall back to the repository until it is written again.
+     */
+    public synchronized void evict(Long id) {
+        if (collecting) {
+            pending.add(id);
+        }
+        if (file != null) {
+            file.delete(id);
+        }
+    }
+
+    @Override
+    public synchronized void itemSaved(Item item) {
+        if (collecting) {
+            pending.add(item.getId());
+        }
+        if (file != null) {
+            file.append(item);
+            // a rewrite in progress replaces the file anyway
+            if (!collecting) {
+                compactIfWasteful();
+            }
+        }
+    }
+
+    @Override
+    public synchronized void itemDeleted(Long id) {
+        evict(id);
+    }
+
+    /**
+     * Rewrites the snapshot from the repository. Lookups keep reading the previous file meanwhile.
+     */
+    @Override
+    public void catalogChanged() {
+        synchronized (loadLock) {
+            // not open yet, or it could not be: opening reads the repository anyway
+            if (file != null) {
+                load(false);
+            }
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("catalog.snapshot.items", this, snapshot -> snapshot.measure(SnapshotFile::size))
+                .register(registry);
+        Gauge.builder("catalog.snapshot.bytes", this, snapshot -> snapshot.measure(SnapshotFile::usedBytes))
+                .baseUnit("bytes")
+                .register(registry);
+        Gauge.builder("catalog.snapshot.garbage", this, snapshot -> snapshot.measure(SnapshotFile::garbageBytes))
+                .baseUnit("bytes")
+                .description("Bytes of superseded records, reclaimed by compaction")
+                .register(registry);
+    }
+
+    @PreDestroy
+    public synchronized void close() throws IOException {
+        if (file != null) {
+            file.close();
+            file = null;
+        }
+    }
+
+    private void load(boolean reuse) {
+        long start = System.nanoTime();
+        synchronized (this) {
+            collecting = true;
+        }
+        try {
+            SnapshotFile loaded = reuse ? SnapshotFile.open(path) : null;
+            boolean reused = loaded != null && matchesRepository(loaded);
+            if (!reused) {
+                if (loaded != null) {
+                    loaded.close();
+                }
+                loaded = rewrite();
+            }
+            SnapshotFile previous;
+            synchronized (this) {
+                previous = file;
+                file = loaded;
+                for (Long id : pending) {
+                    apply(transactionTemplate.execute(status -> itemRepository.findById(id)), id);
+                }
+            }
+            if (previous != null) {
+                // readers still holding a view of the old mapping keep reading valid records from it
+                previous.close();
+            }
+            itemCatalog.useSnapshot(this);
+            log.info("{} catalog snapshot {} with {} items in {} ms", reused ? "Mapped" : "Wrote", path,
+                    loaded.size(), (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | RuntimeException e) {
+            log.error("Could not load the catalog snapshot {}; items are read from {}", path,
+                    file == null ? "the repository" : "the previous snapshot", e);
+        } finally {
+            synchronized (this) {
+                collecting = false;
+                // changes were applied to whichever file is current, if any
+                pending.clear();
+            }
+        }
+    }
+
+    private boolean matchesRepository(SnapshotFile snapshot) {
+        long[] fingerprint = new long[1];
+        forEachItem(item -> fingerprint[0] += SnapshotFile.fingerprint(item));
+        return snapshot.fingerprint() == fingerprint[0];
+    }
+
+    private SnapshotFile rewrite() throws IOException {
+        Path temporary = temporaryPath();
+        long count = transactionTemplate.execute(status -> itemRepository.count());
+        try (SnapshotFile fresh = SnapshotFile.create(temporary, (int) Math.min(Integer.MAX_VALUE, count))) {
+            forEachItem(fresh::append);
+        }
+        return replaceWith(temporary);
+    }
+
+    private void forEachItem(Consumer<Item> action) {
+        PageRequest batch = PageRequest.of(0, REBUILD_BATCH_SIZE);
+        List<Item> page = transactionTemplate.execute(status -> itemRepository.findAllByOrderByIdAsc(batch));
+        while (!page.isEmpty()) {
+            page.forEach(action);
+            Long last = page.get(page.size() - 1).getId();
+            page = transactionTemplate.execute(status -> itemRepository.findByIdGreaterThanOrderByIdAsc(last, batch));
+        }
+    }
+
+    private void compactIfWasteful() {
+        long garbage = file.garbageBytes();
+        if (garbage < MIN_COMPACTION_GARBAGE_BYTES || garbage < file.usedBytes() - garbage) {
+            return;
+        }
+        try {
+            Path temporary = temporaryPath();
+            try (SnapshotFile compacted = SnapshotFile.create(temporary, file.size())) {
+                file.copyLiveRecordsTo(compacted);
+            }
+            SnapshotFile previous = file;
+            // readers still holding a view of the old mapping keep reading valid records from it
+            file = replaceWith(temporary);
+            previous.close();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not compact the catalog snapshot {}", path, e);
+        }
+    }
+
+    private SnapshotFile replaceWith(Path temporary) throws IOException {
+        Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        SnapshotFile replaced = SnapshotFile.open(path);
+        if (replaced == null) {
+            throw new IOException("The catalog snapshot " + path + " could not be read back");
+        }
+        return replaced;
+    }
+
+    private Path temporaryPath() {
+        return path.resolveSibling(path.getFileName() + ".tmp");
+    }
+
+    private void apply(Optional<Item> item, Long id) {
+        if (item.isPresent()) {
+            file.append(item.get());
+        } else {
+            file.delete(id);
+        }
+    }
+
+    private double measure(java.util.function.ToLongFunction<SnapshotFile> metric) {
+        SnapshotFile current = file;
+        return current == null ? 0 : metric.applyAsLong(current);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo.catalog.snapshot;
+
+import com.example.demo.model.persistence.Item;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Flyweight over one item record of a {@link SnapshotFile}. A view is rebound to another record by
+ * {@link CatalogSnapshot#read(long, ItemView)} and decodes fields straight from the mapped region
+ * only when they are asked for, so scanning or probing the snapshot allocates nothing per item.
+ * A view is not thread-safe; use one per thread.
+ */
+public final class ItemView {
+
+    private ByteBuffer buffer;
+    private int position;
+
+    void bind(ByteBuffer buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    public long getId() {
+        return buffer.getLong(position + SnapshotFile.ID);
+    }
+
+    public BigDecimal getPrice() {
+        return BigDecimal.valueOf(buffer.getLong(position + SnapshotFile.PRICE_UNSCALED), buffer.get(position + SnapshotFile.PRICE_SCALE));
+    }
+
+    public String getName() {
+        return string(position + SnapshotFile.NAME);
+    }
+
+    public String getDescription() {
+        int nameLength = Short.toUnsignedInt(buffer.getShort(position + SnapshotFile.NAME));
+        return string(position + SnapshotFile.NAME + 2 + nameLength);
+    }
+
+    /**
+     * Copies the record into a detached entity.
+     */
+    public Item toItem() {
+        Item item = new Item();
+        item.setId(getId());
+        item.setName(getName());
+        item.setPrice(getPrice());
+        item.setDescription(getDescription());
+        return item;
+    }
+
+    private String string(int offset) {
+        int length = Short.toUnsignedInt(buffer.getShort(offset));
+        byte[] bytes = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset + 2);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
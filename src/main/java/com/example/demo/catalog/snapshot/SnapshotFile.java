@@ -0,0 +1,370 @@
+package com.example.demo.catalog.snapshot;
+
+import com.example.demo.model.persistence.Item;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Append-only item file, mapped read-write into memory.
+ * <pre>
+ * header  int magic, int format version, long end of the last record, long live items, long content fingerprint
+ * record  int length, long id, byte kind (1 item, 0 deletion),
+ *         [item] long unscaled price, byte price scale, short + UTF-8 name, short + UTF-8 description
+ * </pre>
+ * A change appends a new record for the id and the in-memory index moves to it; the superseded
+ * bytes stay behind as garbage until the file is compacted into a new one. Records never change
+ * once written, so readers only need the lock to look up a position.
+ * <p>
+ * The fingerprint is the sum of a hash of every live record, so it follows appends and deletions
+ * without a rescan and can be compared with {@link #fingerprint(Item)} summed over the items of
+ * the repository.
+ */
+final class SnapshotFile implements Closeable {
+
+    static final int ID = 4;
+    static final int KIND = 12;
+    static final int PRICE_UNSCALED = 13;
+    static final int PRICE_SCALE = 21;
+    static final int NAME = 22;
+
+    private static final int MAGIC = 0x43534E50;
+    private static final int FORMAT_VERSION = 3;
+    private static final int HEADER_SIZE = 32;
+    private static final int HEADER_END = 8;
+    private static final int HEADER_COUNT = 16;
+    private static final int HEADER_FINGERPRINT = 24;
+    private static final byte DELETED = 0;
+    private static final byte LIVE = 1;
+    private static final int DELETION_SIZE = KIND + 1;
+    private static final int MAX_STRING_BYTES = 0xFFFF;
+    private static final int MIN_CAPACITY = 1 << 20;
+    private static final int ESTIMATED_RECORD_SIZE = 128;
+
+    private final FileChannel channel;
+    private final LongIntMap index;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private MappedByteBuffer buffer;
+    private int end = HEADER_SIZE;
+    private int live;
+    private long fingerprint;
+    private long garbageBytes;
+
+    private SnapshotFile(FileChannel channel, MappedByteBuffer buffer, int expectedItems) {
+        this.channel = channel;
+        this.buffer = buffer;
+        this.index = new LongIntMap(expectedItems);
+    }
+
+    static SnapshotFile create(Path path, int expectedItems) throws IOException {
+        Files.deleteIfExists(path);
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long capacity = Math.min(Integer.MAX_VALUE, Math.max(MIN_CAPACITY, HEADER_SIZE + (long) expectedItems * ESTIMATED_RECORD_SIZE));
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            buffer.putInt(0, MAGIC);
+            buffer.putInt(4, FORMAT_VERSION);
+            SnapshotFile file = new SnapshotFile(channel, buffer, expectedItems);
+            file.writeHeader();
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Maps an existing file and indexes its records.
+     *
+     * @return {@code null} if there is no file or it is not a readable snapshot of this format
+     */
+    static SnapshotFile open(Path path) throws IOException {
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                channel.close();
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+            long end = buffer.getLong(HEADER_END);
+            long count = buffer.getLong(HEADER_COUNT);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != FORMAT_VERSION
+                    || end < HEADER_SIZE || end > size || count < 0 || count > Integer.MAX_VALUE) {
+                channel.close();
+                return null;
+            }
+            SnapshotFile file = new SnapshotFile(channel, buffer, (int) count);
+            if (!file.scan((int) end) || file.fingerprint != buffer.getLong(HEADER_FINGERPRINT)) {
+                channel.close();
+                return null;
+            }
+            return file;
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Binds {@code view} to the current record of {@code id}.
+     *
+     * @return {@code false} if the file has no item with that id
+     */
+    boolean read(long id, ItemView view) {
+        lock.readLock().lock();
+        try {
+            int position = index.get(id);
+            if (position < 0) {
+                return false;
+            }
+            view.bind(buffer, position);
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Appends the current state of {@code item}. Items the format cannot represent (a price that
+     * does not fit a long, or text longer than 64 KB) are recorded as deleted instead.
+     *
+     * @return whether the item was written
+     */
+    boolean append(Item item) {
+        byte[] record = encode(item);
+        if (record == null) {
+            delete(item.getId());
+            return false;
+        }
+        appendRecord(item.getId(), ByteBuffer.wrap(record), record.length);
+        return true;
+    }
+
+    /**
+     * Hashes {@code item} the way the file hashes its record, so summing this over a set of items
+     * gives the {@link #fingerprint()} of a file holding exactly those items.
+     *
+     * @return {@code 0} for items the format cannot represent, which the file never holds
+     */
+    static long fingerprint(Item item) {
+        byte[] record = encode(item);
+        return record == null ? 0 : hash(ByteBuffer.wrap(record), 0, record.length);
+    }
+
+    void delete(long id) {
+        lock.writeLock().lock();
+        try {
+            if (index.get(id) < 0) {
+                return;
+            }
+            int position = reserve(DELETION_SIZE);
+            buffer.putInt(position, DELETION_SIZE);
+            buffer.putLong(position + ID, id);
+            buffer.put(position + KIND, DELETED);
+            commit(id, -1, DELETION_SIZE);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Copies the current record of every item into {@code target}, leaving garbage behind.
+     */
+    void copyLiveRecordsTo(SnapshotFile target) {
+        lock.readLock().lock();
+        try {
+            ByteBuffer source = buffer.duplicate();
+            index.forEach((id, position) -> {
+                int length = buffer.getInt(position);
+                source.limit(position + length).position(position);
+                target.appendRecord(id, source, length);
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return live;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long fingerprint() {
+        lock.readLock().lock();
+        try {
+            return fingerprint;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long usedBytes() {
+        lock.readLock().lock();
+        try {
+            return end;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long garbageBytes() {
+        lock.readLock().lock();
+        try {
+            return garbageBytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            buffer.force();
+            channel.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void appendRecord(long id, ByteBuffer record, int length) {
+        lock.writeLock().lock();
+        try {
+            int position = reserve(length);
+            ByteBuffer target = buffer.duplicate();
+            target.position(position);
+            target.put(record);
+            commit(id, position, length);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean scan(int scanEnd) {
+        int position = HEADER_SIZE;
+        while (position < scanEnd) {
+            int length = buffer.getInt(position);
+            if (length < DELETION_SIZE || length > scanEnd - position) {
+                return false;
+            }
+            byte kind = buffer.get(position + KIND);
+            track(buffer.getLong(position + ID), kind == LIVE ? position : -1, length);
+            position += length;
+        }
+        return end == scanEnd;
+    }
+
+    /**
+     * Points the index at the record just written at {@code position} (or at nothing for a
+     * deletion) and moves the end past it.
+     */
+    private void commit(long id, int position, int length) {
+        track(id, position, length);
+        writeHeader();
+    }
+
+    private void track(long id, int position, int length) {
+        int previous = index.put(id, position);
+        if (previous >= 0) {
+            int previousLength = buffer.getInt(previous);
+            live--;
+            garbageBytes += previousLength;
+            fingerprint -= hash(buffer, previous, previousLength);
+        }
+        if (position >= 0) {
+            live++;
+            fingerprint += hash(buffer, position, length);
+        } else {
+            garbageBytes += length;
+        }
+        end += length;
+    }
+
+    private int reserve(int length) {
+        long required = (long) end + length;
+        if (required > buffer.capacity()) {
+            long capacity = Math.min(Integer.MAX_VALUE, Math.max(required, buffer.capacity() * 2L));
+            if (required > capacity) {
+                throw new IllegalStateException("The catalog snapshot cannot grow beyond 2 GB");
+            }
+            try {
+                buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not grow the catalog snapshot", e);
+            }
+        }
+        return end;
+    }
+
+    private void writeHeader() {
+        buffer.putLong(HEADER_END, end);
+        buffer.putLong(HEADER_COUNT, live);
+        buffer.putLong(HEADER_FINGERPRINT, fingerprint);
+    }
+
+    /**
+     * Lays out a live record for {@code item}. Items with a price that does not fit a long, or text
+     * longer than 64 KB, cannot be represented.
+     *
+     * @return {@code null} if the item cannot be represented
+     */
+    private static byte[] encode(Item item) {
+        byte[] name = bytes(item.getName());
+        byte[] description = bytes(item.getDescription());
+        BigDecimal price = item.getPrice();
+        if (name == null || description == null || price == null
+                || price.unscaledValue().bitLength() > 63 || price.scale() < Byte.MIN_VALUE || price.scale() > Byte.MAX_VALUE) {
+            return null;
+        }
+        int length = NAME + 2 + name.length + 2 + description.length;
+        return ByteBuffer.allocate(length)
+                .putInt(length)
+                .putLong(item.getId())
+                .put(LIVE)
+                .putLong(price.unscaledValue().longValue())
+                .put((byte) price.scale())
+                .putShort((short) name.length).put(name)
+                .putShort((short) description.length).put(description)
+                .array();
+    }
+
+    /**
+     * FNV-1a over the record from its id on, finished with the MurmurHash3 mix so that sums of
+     * hashes stay well spread.
+     */
+    private static long hash(ByteBuffer source, int position, int length) {
+        long hash = 0xCBF29CE484222325L;
+        for (int i = ID; i < length; i++) {
+            hash = (hash ^ (source.get(position + i) & 0xFF)) * 0x100000001B3L;
+        }
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return hash ^ (hash >>> 33);
+    }
+
+    private static byte[] bytes(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        return bytes.length > MAX_STRING_BYTES ? null : bytes;
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.demo.controllers;
+
+import com.example.demo.async.DbExecutor;
+import com.example.demo.model.persistence.Cart;
+import com.example.demo.model.requests.ModifyCartBatchRequest;
+import com.example.demo.model.requests.ModifyCartRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link CartController}: the same handlers run on the {@link DbExecutor}.
+ */
+@RestController
+@RequestMapping("/api/async/cart")
+@ConditionalOnProperty(name = "app.async.enabled", havingValue = "true")
+public class AsyncCartController {
+
+	private final CartController cartController;
+	private final DbExecutor dbExecutor;
+
+	public AsyncCartController(CartController cartController, DbExecutor dbExecutor) {
+		this.cartController = cartController;
+		this.dbExecutor = dbExecutor;
+	}
+
+	@PostMapping("/addToCart")
+	public CompletableFuture<ResponseEntity<Cart>> addToCart(@RequestBody ModifyCartRequest request) {
+		return dbExecutor.supply(() -> cartController.addToCart(request));
+	}
+
+	@PostMapping("/removeFromCart")
+	public CompletableFuture<ResponseEntity<Cart>> removeFromCart(@RequestBody ModifyCartRequest request) {
+		return dbExecutor.supply(() -> cartController.removeFromCart(request));
+	}
+
+	@PostMapping("/batch")
+	public CompletableFuture<ResponseEntity<Cart>> modifyCart(@RequestBody ModifyCartBatchRequest request) {
+		return dbExecutor.supply(() -> cartController.modifyCart(request));
+	}
+
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<Void> handleConcurrentModification(OptimisticLockingFailureException e) {
+		return cartController.handleConcurrentModification(e);
+	}
+}
@@ -0,0 +1,66 @@
+package com.example.demo.controllers;
+
+import com.example.demo.async.DbExecutor;
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.responses.ItemPage;
+import com.example.demo.web.ConditionalGet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link ItemController}: the same handlers run on the {@link DbExecutor}.
+ */
+@RestController
+@RequestMapping("/api/async/item")
+@ConditionalOnProperty(name = "app.async.enabled", havingValue = "true")
+public class AsyncItemController {
+
+	private final ItemController itemController;
+	private final DbExecutor dbExecutor;
+
+	public AsyncItemController(ItemController itemController, DbExecutor dbExecutor) {
+		this.itemController = itemController;
+		this.dbExecutor = dbExecutor;
+	}
+
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
+	@GetMapping
+	public CompletableFuture<ResponseEntity<List<Item>>> getItems() {
+		return dbExecutor.supply(itemController::getItems);
+	}
+
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
+	@GetMapping("/page")
+	public CompletableFuture<ResponseEntity<ItemPage>> getItemPage(@RequestParam(required = false) String after,
+																   @RequestParam(defaultValue = "id") String sort,
+																   @RequestParam(defaultValue = "20") int size) {
+		return dbExecutor.supply(() -> itemController.getItemPage(after, sort, size));
+	}
+
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
+	@GetMapping("/search")
+	public CompletableFuture<ResponseEntity<List<Item>>> searchItems(@RequestParam String q,
+																	 @RequestParam(defaultValue = "20") int limit) {
+		return dbExecutor.supply(() -> itemController.searchItems(q, limit));
+	}
+
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
+	@GetMapping("/{id}")
+	public CompletableFuture<ResponseEntity<Item>> getItemById(@PathVariable Long id) {
+		return dbExecutor.supply(() -> itemController.getItemById(id));
+	}
+
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
+	@GetMapping("/name/{name}")
+	public CompletableFuture<ResponseEntity<List<Item>>> getItemsByName(@PathVariable String name) {
+		return dbExecutor.supply(() -> itemController.getItemsByName(name));
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.demo.controllers;
+
+import com.example.demo.async.DbExecutor;
+import com.example.demo.model.persistence.UserOrder;
+import com.example.demo.model.responses.OrderHistoryPage;
+import com.example.demo.web.ConditionalGet;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link OrderController}: the same handlers run on the {@link DbExecutor}.
+ */
+@RestController
+@RequestMapping("/api/async/order")
+@ConditionalOnProperty(name = "app.async.enabled", havingValue = "true")
+public class AsyncOrderController {
+
+	private final OrderController orderController;
+	private final DbExecutor dbExecutor;
+
+	public AsyncOrderController(OrderController orderController, DbExecutor dbExecutor) {
+		this.orderController = orderController;
+		this.dbExecutor = dbExecutor;
+	}
+
+	@PostMapping("/submit/{username}")
+	public CompletableFuture<ResponseEntity<UserOrder>> submit(@PathVariable String username) {
+		return dbExecutor.supply(() -> orderController.submit(username));
+	}
+
+	@GetMapping("/history/{username}")
+	public CompletableFuture<ResponseEntity<List<UserOrder>>> getOrdersForUser(@PathVariable String username) {
+		return dbExecutor.supply(() -> orderController.getOrdersForUser(username));
+	}
+
+	@GetMapping("/history/{username}/summaries")
+	public CompletableFuture<ResponseEntity<OrderHistoryPage>> getOrderSummariesForUser(@PathVariable String username,
+																						 @RequestParam(defaultValue = "0") int page,
+																						 @RequestParam(defaultValue = "20") int size) {
+		return dbExecutor.supply(() -> orderController.getOrderSummariesForUser(username, page, size));
+	}
+
+	@ConditionalGet(ConditionalGet.Source.ORDER)
+	@GetMapping("/history/{username}/{orderId}")
+	public CompletableFuture<ResponseEntity<UserOrder>> getOrderForUser(@PathVariable String username, @PathVariable Long orderId) {
+		return dbExecutor.supply(() -> orderController.getOrderForUser(username, orderId));
+	}
+}
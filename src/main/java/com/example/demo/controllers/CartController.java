@@ -1,82 +1,125 @@
 package com.example.demo.controllers;
 
+import com.example.demo.cart.CartService;
+import com.example.demo.catalog.ItemCatalog;
 import com.example.demo.model.persistence.Cart;
 import com.example.demo.model.persistence.Item;
-import com.example.demo.model.persistence.User;
-import com.example.demo.model.persistence.repositories.CartRepository;
-import com.example.demo.model.persistence.repositories.ItemRepository;
-import com.example.demo.model.persistence.repositories.UserRepository;
+import com.example.demo.model.requests.CartOperation;
+import com.example.demo.model.requests.ModifyCartBatchRequest;
 import com.example.demo.model.requests.ModifyCartRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.stream.IntStream;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/cart")
 public class CartController {
 
+	public static final int MAX_BATCH_SIZE = 100;
+
 	private Logger log = LoggerFactory.getLogger(CartController.class);
 
-	private final UserRepository userRepository;
-	private final CartRepository cartRepository;
-	private final ItemRepository itemRepository;
+	private final CartService cartService;
+	private final ItemCatalog itemCatalog;
 
-    public CartController(UserRepository userRepository, CartRepository cartRepository, ItemRepository itemRepository) {
-        this.userRepository = userRepository;
-        this.cartRepository = cartRepository;
-        this.itemRepository = itemRepository;
+    public CartController(CartService cartService, ItemCatalog itemCatalog) {
+        this.cartService = cartService;
+        this.itemCatalog = itemCatalog;
     }
 
     @PostMapping("/addToCart")
 	public ResponseEntity<Cart> addToCart(@RequestBody ModifyCartRequest request) {
     	log.info("Adding item(s) to cart of user '{}'", request.getUsername());
 
-		User user = userRepository.findByUsername(request.getUsername());
-		if(user == null) {
-			return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-		}
-		Optional<Item> item = itemRepository.findById(request.getItemId());
+		Optional<Item> item = itemCatalog.findById(request.getItemId());
 		if(!item.isPresent()) {
 			log.error("Invalid username. Failed to add item(s) to cart of user '{}'", request.getUsername());
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
 		}
-		Cart cart = user.getCart();
-		IntStream.range(0, request.getQuantity())
-			.forEach(i -> cart.addItem(item.get()));
-		cartRepository.save(cart);
+		Optional<Cart> cart = cartService.update(request.getUsername(), c -> c.addItem(item.get(), request.getQuantity()));
+		if(!cart.isPresent()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+		}
 
 		log.info("Item(s) successfully added to cart of user '{}'", request.getUsername());
-		return ResponseEntity.ok(cart);
+		return ResponseEntity.ok(cart.get());
 	}
 	
 	@PostMapping("/removeFromCart")
 	public ResponseEntity<Cart> removeFromCart(@RequestBody ModifyCartRequest request) {
 		log.info("Removing item(s) from cart of user '{}'", request.getUsername());
 
-		User user = userRepository.findByUsername(request.getUsername());
-		if(user == null) {
-			return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
-		}
-		Optional<Item> item = itemRepository.findById(request.getItemId());
+		Optional<Item> item = itemCatalog.findById(request.getItemId());
 		if(!item.isPresent()) {
 			log.error("Invalid username. Failed to remove item(s) from cart of user '{}'", request.getUsername());
 			return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
 		}
-		Cart cart = user.getCart();
-		IntStream.range(0, request.getQuantity())
-			.forEach(i -> cart.removeItem(item.get()));
-		cartRepository.save(cart);
+		Optional<Cart> cart = cartService.update(request.getUsername(), c -> c.removeItem(item.get(), request.getQuantity()));
+		if(!cart.isPresent()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+		}
 
 		log.info("Item(s) successfully removed from cart of user '{}'", request.getUsername());
-		return ResponseEntity.ok(cart);
+		return ResponseEntity.ok(cart.get());
+	}
+
+	/**
+	 * Applies several add/remove operations to a cart at once. All items are resolved together and
+	 * the cart is written in a single transaction; if any item does not exist nothing is changed.
+	 */
+	@PostMapping("/batch")
+	public ResponseEntity<Cart> modifyCart(@RequestBody ModifyCartBatchRequest request) {
+		List<CartOperation> operations = request.getOperations();
+		if (operations == null || operations.isEmpty() || operations.size() > MAX_BATCH_SIZE
+				|| operations.stream().anyMatch(operation -> operation.getType() == null)) {
+			return ResponseEntity.badRequest().build();
+		}
+		log.info("Applying {} change(s) to cart of user '{}'", operations.size(), request.getUsername());
+
+		Set<Long> itemIds = operations.stream().map(CartOperation::getItemId).collect(Collectors.toSet());
+		Map<Long, Item> items = itemCatalog.findAllById(itemIds);
+		if(items.size() != itemIds.size()) {
+			log.error("Invalid item. Failed to modify cart of user '{}'", request.getUsername());
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+		}
+		Optional<Cart> cart = cartService.update(request.getUsername(), c -> {
+			for (CartOperation operation : operations) {
+				Item item = items.get(operation.getItemId());
+				if (operation.getType() == CartOperation.Type.ADD) {
+					c.addItem(item, operation.getQuantity());
+				} else {
+					c.removeItem(item, operation.getQuantity());
+				}
+			}
+		});
+		if(!cart.isPresent()) {
+			return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+		}
+
+		log.info("Cart of user '{}' successfully modified", request.getUsername());
+		return ResponseEntity.ok(cart.get());
+	}
+
+	/**
+	 * Another instance changed the cart between read and write; the client can retry.
+	 */
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<Void> handleConcurrentModification(OptimisticLockingFailureException e) {
+		log.error("Concurrent cart modification: {}", e.getMessage());
+		return ResponseEntity.status(HttpStatus.CONFLICT).build();
 	}
 		
 }
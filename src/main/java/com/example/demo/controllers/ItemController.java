@@ -1,13 +1,18 @@
 package com.example.demo.controllers;
 
+import com.example.demo.catalog.ItemCatalog;
+import com.example.demo.catalog.ItemSearchIndex;
+import com.example.demo.catalog.ItemSort;
 import com.example.demo.model.persistence.Item;
-import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.model.responses.ItemPage;
+import com.example.demo.web.ConditionalGet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
@@ -18,27 +23,56 @@ public class ItemController {
 
 	private Logger log = LoggerFactory.getLogger(ItemController.class);
 
-	private final ItemRepository itemRepository;
+	private final ItemCatalog itemCatalog;
+	private final ItemSearchIndex itemSearchIndex;
 
-	public ItemController(ItemRepository itemRepository) {
-		this.itemRepository = itemRepository;
+	public ItemController(ItemCatalog itemCatalog, ItemSearchIndex itemSearchIndex) {
+		this.itemCatalog = itemCatalog;
+		this.itemSearchIndex = itemSearchIndex;
 	}
 
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
 	@GetMapping
 	public ResponseEntity<List<Item>> getItems() {
-		return ResponseEntity.ok(itemRepository.findAll());
+		return ResponseEntity.ok(itemCatalog.findAll());
 	}
 	
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
+	@GetMapping("/page")
+	public ResponseEntity<ItemPage> getItemPage(@RequestParam(required = false) String after,
+												@RequestParam(defaultValue = "id") String sort,
+												@RequestParam(defaultValue = "20") int size) {
+		try {
+			return ResponseEntity.ok(itemCatalog.findPage(ItemSort.fromParameter(sort), after, size));
+		} catch (IllegalArgumentException e) {
+			log.error("Invalid page request. Failed to retrieve items: {}", e.getMessage());
+			return ResponseEntity.badRequest().build();
+		}
+	}
+
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
+	@GetMapping("/search")
+	public ResponseEntity<List<Item>> searchItems(@RequestParam String q,
+												  @RequestParam(defaultValue = "20") int limit) {
+		if (q.trim().isEmpty()) {
+			return ResponseEntity.badRequest().build();
+		}
+		int boundedLimit = Math.max(1, Math.min(limit, ItemCatalog.MAX_PAGE_SIZE));
+		return ResponseEntity.ok(itemSearchIndex.search(q, boundedLimit));
+	}
+
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
 	@GetMapping("/{id}")
 	public ResponseEntity<Item> getItemById(@PathVariable Long id) {
-		return ResponseEntity.of(itemRepository.findById(id));
+		return ResponseEntity.of(itemCatalog.findById(id));
 	}
 	
+	@ConditionalGet(ConditionalGet.Source.CATALOG)
 	@GetMapping("/name/{name}")
 	public ResponseEntity<List<Item>> getItemsByName(@PathVariable String name) {
 		log.info("Getting items by name '{}'", name);
 
-		List<Item> items = itemRepository.findByName(name);
+		List<Item> items = itemCatalog.findByName(name);
 		if (items == null || items.isEmpty()) {
 			log.error("Invalid item. Failed to retrieve items by the name '{}'", name);
 			return ResponseEntity.notFound().build();
@@ -0,0 +1,59 @@
+package com.example.demo.controllers;
+
+import com.example.demo.catalog.ItemImportFormat;
+import com.example.demo.catalog.ItemImporter;
+import com.example.demo.model.responses.ItemImportResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk writes to the shared catalog are open to any signed-up user, so this endpoint only exists with
+ * {@code catalog.import.endpoint.enabled=true}; {@code ItemImportRunner} is the entry point otherwise.
+ */
+@RestController
+@RequestMapping("/api/item/import")
+@ConditionalOnProperty(name = "catalog.import.endpoint.enabled", havingValue = "true")
+public class ItemImportController {
+
+	private Logger log = LoggerFactory.getLogger(ItemImportController.class);
+
+	private final ItemImporter itemImporter;
+
+	public ItemImportController(ItemImporter itemImporter) {
+		this.itemImporter = itemImporter;
+	}
+
+	@PostMapping(consumes = "text/csv")
+	public ResponseEntity<ItemImportResult> importCsv(InputStream body) throws IOException {
+		return importItems(body, ItemImportFormat.CSV);
+	}
+
+	@PostMapping(consumes = {"application/x-ndjson", "application/jsonl"})
+	public ResponseEntity<ItemImportResult> importNdjson(InputStream body) throws IOException {
+		return importItems(body, ItemImportFormat.NDJSON);
+	}
+
+	private ResponseEntity<ItemImportResult> importItems(InputStream body, ItemImportFormat format) throws IOException {
+		log.info("Importing items from {}", format);
+
+		// the body is read as it arrives, never buffered as a whole
+		Reader reader = new InputStreamReader(body, StandardCharsets.UTF_8);
+		try {
+			return ResponseEntity.ok(itemImporter.importItems(reader, format));
+		} catch (IllegalArgumentException e) {
+			log.error("Invalid import. Failed to import items: {}", e.getMessage());
+			return ResponseEntity.badRequest().build();
+		}
+	}
+}
@@ -4,38 +4,57 @@ import com.example.demo.model.persistence.User;
 import com.example.demo.model.persistence.UserOrder;
 import com.example.demo.model.persistence.repositories.OrderRepository;
 import com.example.demo.model.persistence.repositories.UserRepository;
+import com.example.demo.model.responses.OrderHistoryPage;
+import com.example.demo.model.responses.OrderSummary;
+import com.example.demo.web.ConditionalGet;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/order")
 public class OrderController {
 
+	private static final int MAX_PAGE_SIZE = 100;
+
 	private Logger log = LoggerFactory.getLogger(OrderController.class);
 
 	private final UserRepository userRepository;
 	private final OrderRepository orderRepository;
+	private final TransactionTemplate transactionTemplate;
 
-	public OrderController(UserRepository userRepository, OrderRepository orderRepository) {
+	public OrderController(UserRepository userRepository, OrderRepository orderRepository, PlatformTransactionManager transactionManager) {
 		this.userRepository = userRepository;
 		this.orderRepository = orderRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
 	}
 
 	@PostMapping("/submit/{username}")
 	public ResponseEntity<UserOrder> submit(@PathVariable String username) {
 		log.info("Submitting order for user '{}'", username);
 
-		User user = userRepository.findByUsername(username);
-		if(user == null) {
+		// one read-write transaction, so the cart is read from the primary the order is written to
+		UserOrder order = transactionTemplate.execute(status -> {
+			User user = userRepository.findWithCartByUsername(username);
+			if (user == null) {
+				return null;
+			}
+			UserOrder created = UserOrder.createFromCart(user.getCart());
+			orderRepository.save(created);
+			return created;
+		});
+		if(order == null) {
 			log.error("Invalid username. Failed to submit order for user '{}'", username);
 			return ResponseEntity.notFound().build();
 		}
-		UserOrder order = UserOrder.createFromCart(user.getCart());
-		orderRepository.save(order);
 
 		log.info("Order was successfully submitted for user '{}'", username);
 		return ResponseEntity.ok(order);
@@ -45,13 +64,46 @@ public class OrderController {
 	public ResponseEntity<List<UserOrder>> getOrdersForUser(@PathVariable String username) {
 		log.info("Getting orders for user '{}'", username);
 
-		User user = userRepository.findByUsername(username);
-		if(user == null) {
+		List<UserOrder> orders = orderRepository.findWithLinesByUsername(username);
+		// only an empty history needs a second look to tell a user without orders from an unknown one
+		if(orders.isEmpty() && !userRepository.existsByUsername(username)) {
 			log.error("Invalid username. Failed to retrieve orders for user '{}'", username);
 			return ResponseEntity.notFound().build();
 		}
 
 		log.info("Orders successfully retrieved for user '{}'", username);
-		return ResponseEntity.ok(orderRepository.findByUser(user));
+		return ResponseEntity.ok(orders);
+	}
+
+	@GetMapping("/history/{username}/summaries")
+	public ResponseEntity<OrderHistoryPage> getOrderSummariesForUser(@PathVariable String username,
+																	 @RequestParam(defaultValue = "0") int page,
+																	 @RequestParam(defaultValue = "20") int size) {
+		log.info("Getting order summaries for user '{}'", username);
+
+		if (!userRepository.existsByUsername(username)) {
+			log.error("Invalid username. Failed to retrieve order summaries for user '{}'", username);
+			return ResponseEntity.notFound().build();
+		}
+		PageRequest pageRequest = PageRequest.of(Math.max(page, 0), Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+		Slice<OrderSummary> summaries = orderRepository.findSummariesByUsername(username, pageRequest);
+
+		log.info("Order summaries successfully retrieved for user '{}'", username);
+		return ResponseEntity.ok(new OrderHistoryPage(summaries.getContent(), summaries.getNumber(), summaries.getSize(), summaries.hasNext()));
+	}
+
+	@ConditionalGet(ConditionalGet.Source.ORDER)
+	@GetMapping("/history/{username}/{orderId}")
+	public ResponseEntity<UserOrder> getOrderForUser(@PathVariable String username, @PathVariable Long orderId) {
+		log.info("Getting order {} for user '{}'", orderId, username);
+
+		Optional<UserOrder> order = orderRepository.findDetailByIdAndUsername(orderId, username);
+		if (!order.isPresent()) {
+			log.error("Invalid order. Failed to retrieve order {} for user '{}'", orderId, username);
+			return ResponseEntity.notFound().build();
+		}
+
+		log.info("Order {} successfully retrieved for user '{}'", orderId, username);
+		return ResponseEntity.ok(order.get());
 	}
 }
@@ -5,10 +5,11 @@ import com.example.demo.model.persistence.User;
 import com.example.demo.model.persistence.repositories.CartRepository;
 import com.example.demo.model.persistence.repositories.UserRepository;
 import com.example.demo.model.requests.CreateUserRequest;
+import com.example.demo.security.UserCredentialsCache;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -19,12 +20,15 @@ public class UserController {
 
 	private final UserRepository userRepository;
 	private final CartRepository cartRepository;
-	private final BCryptPasswordEncoder bCryptPasswordEncoder;
+	private final PasswordEncoder passwordEncoder;
+	private final UserCredentialsCache credentialsCache;
 
-	public UserController(UserRepository userRepository, CartRepository cartRepository, BCryptPasswordEncoder bCryptPasswordEncoder) {
+	public UserController(UserRepository userRepository, CartRepository cartRepository, PasswordEncoder passwordEncoder,
+						  UserCredentialsCache credentialsCache) {
 		this.userRepository = userRepository;
 		this.cartRepository = cartRepository;
-		this.bCryptPasswordEncoder = bCryptPasswordEncoder;
+		this.passwordEncoder = passwordEncoder;
+		this.credentialsCache = credentialsCache;
 	}
 
 	@GetMapping("/id/{id}")
@@ -62,8 +66,9 @@ public class UserController {
 			return ResponseEntity.badRequest().build();
 		}
 
-		user.setPassword(bCryptPasswordEncoder.encode(createUserRequest.getPassword()));
+		user.setPassword(passwordEncoder.encode(createUserRequest.getPassword()));
 		userRepository.save(user);
+		credentialsCache.invalidate(user.getUsername());
 
 		log.info("User '{}' was successfully created", user.getUsername());
 		return ResponseEntity.ok(user);
@@ -0,0 +1,44 @@
+package com.example.demo.datasource;
+
+import javax.sql.DataSource;
+
+/**
+ * A read replica and the state last observed by {@link ReplicaHealthMonitor}. A replica is not used
+ * until a check has found it reachable and within the lag tolerance.
+ */
+public final class Replica {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy;
+    private volatile long lagMillis = -1;
+
+    public Replica(String name, DataSource dataSource) {
+        this.name = name;
+        this.dataSource = dataSource;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DataSource getDataSource() {
+        return dataSource;
+    }
+
+    public boolean isHealthy() {
+        return healthy;
+    }
+
+    /**
+     * @return the replication lag reported by the last check, or -1 if it is unknown
+     */
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    void update(boolean healthy, long lagMillis) {
+        this.healthy = healthy;
+        this.lagMillis = lagMillis;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically checks every replica and takes it out of rotation while it is unreachable or lags
+ * the primary by more than {@code maxLagMillis}.
+ * <p>
+ * The lag is whatever {@code lagQuery} returns in milliseconds, e.g. on PostgreSQL
+ * {@code select extract(epoch from now() - pg_last_xact_replay_timestamp()) * 1000}. A query that
+ * returns no row or {@code null} marks the replica unhealthy. Without a lag query only connectivity
+ * is checked. Closing the monitor also closes the replicas' data sources.
+ */
+public class ReplicaHealthMonitor implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final List<Replica> replicas;
+    private final String lagQuery;
+    private final long maxLagMillis;
+    private final ScheduledExecutorService scheduler;
+
+    public ReplicaHealthMonitor(List<Replica> replicas, String lagQuery, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.replicas = Collections.unmodifiableList(replicas);
+        this.lagQuery = lagQuery == null || lagQuery.trim().isEmpty() ? null : lagQuery;
+        this.maxLagMillis = maxLagMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "replica-health");
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (Replica replica : replicas) {
+            Gauge.builder("datasource.replica.healthy", replica, r -> r.isHealthy() ? 1 : 0)
+                    .tag("replica", replica.getName())
+                    .register(meterRegistry);
+            Gauge.builder("datasource.replica.lag", replica, Replica::getLagMillis)
+                    .tag("replica", replica.getName())
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Checks the replicas now and then every {@code intervalMillis}.
+     */
+    public void start(long intervalMillis) {
+        check();
+        scheduler.scheduleWithFixedDelay(this::check, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void check() {
+        for (Replica replica : replicas) {
+            long lag = -1;
+            boolean healthy;
+            try (Connection connection = replica.getDataSource().getConnection()) {
+                if (lagQuery == null) {
+                    healthy = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+                } else {
+                    lag = queryLag(connection);
+                    healthy = lag >= 0 && lag <= maxLagMillis;
+                }
+            } catch (SQLException | RuntimeException e) {
+                log.debug("Replica {} failed its health check", replica.getName(), e);
+                healthy = false;
+            }
+            if (healthy != replica.isHealthy()) {
+                log.info("Replica {} is now {} (lag {} ms)", replica.getName(), healthy ? "in rotation" : "out of rotation", lag);
+            }
+            replica.update(healthy, lag);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        for (Replica replica : replicas) {
+            if (replica.getDataSource() instanceof Closeable) {
+                try {
+                    ((Closeable) replica.getDataSource()).close();
+                } catch (IOException e) {
+                    log.warn("Could not close replica {}", replica.getName(), e);
+                }
+            }
+        }
+    }
+
+    private long queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(VALIDATION_TIMEOUT_SECONDS);
+            try (ResultSet result = statement.executeQuery(lagQuery)) {
+                if (!result.next()) {
+                    return -1;
+                }
+                double lag = result.getDouble(1);
+                return result.wasNull() ? -1 : Math.max(0, Math.round(lag));
+            }
+        }
+    }
+}
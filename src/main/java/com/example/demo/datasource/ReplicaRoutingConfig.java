@@ -0,0 +1,72 @@
+package com.example.demo.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Replaces the auto-configured data source with a {@link ReplicaRoutingDataSource} over the primary
+ * ({@code spring.datasource.*}) and the replicas under {@code datasource.routing.replicas}.
+ */
+@Configuration
+@ConditionalOnProperty(name = "datasource.routing.enabled", havingValue = "true")
+@EnableConfigurationProperties(ReplicaRoutingProperties.class)
+public class ReplicaRoutingConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaHealthMonitor replicaHealthMonitor(ReplicaRoutingProperties properties, MeterRegistry meterRegistry) {
+        List<Replica> replicas = new ArrayList<>();
+        for (ReplicaRoutingProperties.ReplicaProperties replica : properties.getReplicas()) {
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (replicas.size() + 1);
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName(name);
+            pool.setJdbcUrl(replica.getUrl());
+            pool.setUsername(replica.getUsername());
+            pool.setPassword(replica.getPassword());
+            pool.setMaximumPoolSize(replica.getMaximumPoolSize());
+            pool.setReadOnly(true);
+            // do not fail startup on a replica that is down; it stays out of rotation until it recovers
+            pool.setInitializationFailTimeout(-1);
+            pool.setMetricRegistry(meterRegistry);
+            replicas.add(new Replica(name, pool));
+        }
+        ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(replicas, properties.getLagQuery(), properties.getMaxLagMs(), meterRegistry);
+        monitor.start(properties.getCheckIntervalMs());
+        return monitor;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaHealthMonitor replicaHealthMonitor, MeterRegistry meterRegistry) {
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primaryDataSource, replicaHealthMonitor.getReplicas(), meterRegistry));
+    }
+
+    /**
+     * By default Hibernate may hold a session's connection across transactions (e.g. for the
+     * open-in-view session of a request), which would pin every later transaction of that request
+     * to the first route. Releasing it after each transaction lets every transaction be routed.
+     */
+    @Bean
+    public HibernatePropertiesCustomizer routedConnectionRelease() {
+        return properties -> properties.put("hibernate.connection.handling_mode", "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+}
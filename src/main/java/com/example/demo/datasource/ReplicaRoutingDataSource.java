@@ -0,0 +1,92 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends connections of read-only transactions to a healthy replica, round robin, and everything else
+ * to the primary. With no healthy replica reads fall back to the primary. Read-only transactions are
+ * the inherited {@code findById}/{@code findAll}/{@code count} of Spring Data repositories and the
+ * query methods the repository interfaces mark {@code @Transactional(readOnly = true)}; a query
+ * called inside a read-write transaction joins it and stays on the primary.
+ * <p>
+ * The route is decided when the connection is obtained, so this must sit behind a
+ * {@link LazyConnectionDataSourceProxy}: transaction managers open their connection before the
+ * transaction is marked read-only, and the proxy defers the real connection to the first statement.
+ * <p>
+ * Every routed connection is counted as {@code datasource.routing.connections}, tagged with the
+ * requested {@code route} ({@code read} or {@code write}) and the {@code target} that served it.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+
+    private final List<Replica> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter writes;
+    private final Counter fallbackReads;
+    private final Map<String, Counter> replicaReads = new HashMap<>();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<Replica> replicas, MeterRegistry meterRegistry) {
+        this.replicas = new ArrayList<>(replicas);
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        for (Replica replica : replicas) {
+            targets.put(replica.getName(), replica.getDataSource());
+            replicaReads.put(replica.getName(), counter(meterRegistry, "read", replica.getName()));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        this.writes = counter(meterRegistry, "write", PRIMARY);
+        this.fallbackReads = counter(meterRegistry, "read", PRIMARY);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        Replica replica = nextHealthyReplica();
+        if (replica == null) {
+            fallbackReads.increment();
+            return PRIMARY;
+        }
+        replicaReads.get(replica.getName()).increment();
+        return replica.getName();
+    }
+
+    private Replica nextHealthyReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate.isHealthy()) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String route, String target) {
+        return Counter.builder("datasource.routing.connections")
+                .tag("route", route)
+                .tag("target", target)
+                .description("Connections handed out by the replica routing data source")
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.demo.datasource;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@code datasource.routing.*}: the replicas reads are routed to and how they are health checked.
+ * The primary stays configured through {@code spring.datasource.*}.
+ */
+@ConfigurationProperties("datasource.routing")
+public class ReplicaRoutingProperties {
+
+    private boolean enabled;
+    private long maxLagMs = 5000;
+    private long checkIntervalMs = 5000;
+    private String lagQuery;
+    private List<ReplicaProperties> replicas = new ArrayList<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaxLagMs() {
+        return maxLagMs;
+    }
+
+    public void setMaxLagMs(long maxLagMs) {
+        this.maxLagMs = maxLagMs;
+    }
+
+    public long getCheckIntervalMs() {
+        return checkIntervalMs;
+    }
+
+    public void setCheckIntervalMs(long checkIntervalMs) {
+        this.checkIntervalMs = checkIntervalMs;
+    }
+
+    public String getLagQuery() {
+        return lagQuery;
+    }
+
+    public void setLagQuery(String lagQuery) {
+        this.lagQuery = lagQuery;
+    }
+
+    public List<ReplicaProperties> getReplicas() {
+        return replicas;
+    }
+
+    public void setReplicas(List<ReplicaProperties> replicas) {
+        this.replicas = replicas;
+    }
+
+    public static class ReplicaProperties {
+
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+
+        public void setUrl(String url) {
+            this.url = url;
+        }
+
+        public String getUsername() {
+            return username;
+        }
+
+        public void setUsername(String username) {
+            this.username = username;
+        }
+
+        public String getPassword() {
+            return password;
+        }
+
+        public void setPassword(String password) {
+            this.password = password;
+        }
+
+        public int getMaximumPoolSize() {
+            return maximumPoolSize;
+        }
+
+        public void setMaximumPoolSize(int maximumPoolSize) {
+            this.maximumPoolSize = maximumPoolSize;
+        }
+    }
+}
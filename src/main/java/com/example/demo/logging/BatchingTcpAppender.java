@@ -0,0 +1,317 @@
+package com.example.demo.logging;
+
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Layout;
+import ch.qos.logback.core.UnsynchronizedAppenderBase;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ships log events to a raw TCP input (e.g. a Splunk TCP input) without doing any formatting or
+ * socket I/O on the logging thread.
+ * <p>
+ * {@link #append} only snapshots the event and offers it to a bounded queue. A single worker thread
+ * drains whatever is queued (up to {@code batchSize} events), formats it with the configured layout
+ * and sends it in one write. When the queue is full the event is dropped, or with
+ * {@link OverflowPolicy#BLOCK} the caller waits at most {@code blockTimeoutMillis} before dropping it.
+ * While the collector is unreachable the worker retries every {@code reconnectionDelayMillis} and
+ * the queue absorbs new events; a batch whose write fails is discarded and counted as lost, and so
+ * is an event the layout fails to format.
+ */
+public class BatchingTcpAppender extends UnsynchronizedAppenderBase<ILoggingEvent> {
+
+    public enum OverflowPolicy {
+        DROP,
+        BLOCK
+    }
+
+    private String remoteHost = "127.0.0.1";
+    private int port;
+    private int queueSize = 8192;
+    private int batchSize = 256;
+    private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+    private long blockTimeoutMillis = 10;
+    private int connectionTimeoutMillis = 1000;
+    private long reconnectionDelayMillis = 5000;
+    private Layout<ILoggingEvent> layout;
+
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder lost = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    private BlockingQueue<ILoggingEvent> queue;
+    private Thread worker;
+    private Socket socket;
+    private OutputStream output;
+
+    @Override
+    public void start() {
+        if (isStarted()) {
+            return;
+        }
+        int errors = 0;
+        if (port <= 0) {
+            addError("No valid port was configured for appender [" + name + "]");
+            errors++;
+        }
+        if (remoteHost == null) {
+            addError("No remote host was configured for appender [" + name + "]");
+            errors++;
+        }
+        if (layout == null) {
+            addError("No layout was configured for appender [" + name + "]");
+            errors++;
+        }
+        if (queueSize < 1 || batchSize < 1) {
+            addError("queueSize and batchSize must be positive for appender [" + name + "]");
+            errors++;
+        }
+        if (errors > 0) {
+            return;
+        }
+
+        queue = new ArrayBlockingQueue<>(queueSize);
+        worker = new Thread(this::run, "log-shipper-" + name);
+        worker.setDaemon(true);
+        super.start();
+        worker.start();
+    }
+
+    @Override
+    public void stop() {
+        if (!isStarted()) {
+            return;
+        }
+        super.stop();
+        worker.interrupt();
+        try {
+            worker.join(connectionTimeoutMillis + 1000L);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        closeConnection();
+    }
+
+    @Override
+    protected void append(ILoggingEvent event) {
+        // capture the formatted message, MDC and thread name now; the event is formatted later
+        event.prepareForDeferredProcessing();
+        boolean queued;
+        if (overflowPolicy == OverflowPolicy.BLOCK) {
+            try {
+                queued = queue.offer(event, blockTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+        } else {
+            queued = queue.offer(event);
+        }
+        if (!queued) {
+            dropped.increment();
+        }
+    }
+
+    private void run() {
+        List<ILoggingEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (isStarted()) {
+                ILoggingEvent first = queue.poll(1, TimeUnit.SECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                awaitConnection();
+                send(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            // stopping
+        }
+        // best effort for whatever was still pending at shutdown
+        queue.drainTo(batch);
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (output == null && !connect()) {
+            lost.add(batch.size());
+            return;
+        }
+        for (int from = 0; from < batch.size(); from += batchSize) {
+            send(batch.subList(from, Math.min(from + batchSize, batch.size())));
+        }
+    }
+
+    /**
+     * Holds the current batch until the collector accepts a connection. Meanwhile new events pile
+     * up in the queue and the overflow policy applies.
+     */
+    private void awaitConnection() throws InterruptedException {
+        while (output == null && !connect()) {
+            Thread.sleep(reconnectionDelayMillis);
+        }
+    }
+
+    private void send(List<ILoggingEvent> batch) {
+        StringBuilder text = new StringBuilder(batch.size() * 256);
+        int formatted = 0;
+        for (ILoggingEvent event : batch) {
+            try {
+                text.append(layout.doLayout(event));
+                formatted++;
+            } catch (RuntimeException e) {
+                // e.g. a broken converter or a throwing toString(); left uncaught it would end the worker
+                addError("Could not format an event for appender [" + name + "], dropping it", e);
+                lost.increment();
+            }
+        }
+        if (formatted == 0) {
+            return;
+        }
+        try {
+            output.write(text.toString().getBytes(StandardCharsets.UTF_8));
+            output.flush();
+            sent.add(formatted);
+            batches.increment();
+        } catch (IOException e) {
+            addWarn("Could not write to " + remoteHost + ":" + port + ", dropping " + formatted + " events", e);
+            lost.add(formatted);
+            closeConnection();
+        }
+    }
+
+    private boolean connect() {
+        Socket candidate = new Socket();
+        try {
+            candidate.connect(new InetSocketAddress(remoteHost, port), connectionTimeoutMillis);
+            socket = candidate;
+            output = candidate.getOutputStream();
+            return true;
+        } catch (IOException e) {
+            addWarn("Could not connect to " + remoteHost + ":" + port, e);
+            try {
+                candidate.close();
+            } catch (IOException ignored) {
+                // nothing useful to do
+            }
+            return false;
+        }
+    }
+
+    private void closeConnection() {
+        if (socket != null) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // nothing useful to do
+            }
+        }
+        socket = null;
+        output = null;
+    }
+
+    public int getQueuedCount() {
+        BlockingQueue<ILoggingEvent> current = queue;
+        return current == null ? 0 : current.size();
+    }
+
+    public long getSentCount() {
+        return sent.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getLostCount() {
+        return lost.sum();
+    }
+
+    public long getBatchCount() {
+        return batches.sum();
+    }
+
+    public String getRemoteHost() {
+        return remoteHost;
+    }
+
+    public void setRemoteHost(String remoteHost) {
+        this.remoteHost = remoteHost;
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public void setPort(int port) {
+        this.port = port;
+    }
+
+    public int getQueueSize() {
+        return queueSize;
+    }
+
+    public void setQueueSize(int queueSize) {
+        this.queueSize = queueSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public void setOverflowPolicy(OverflowPolicy overflowPolicy) {
+        this.overflowPolicy = overflowPolicy;
+    }
+
+    public long getBlockTimeoutMillis() {
+        return blockTimeoutMillis;
+    }
+
+    public void setBlockTimeoutMillis(long blockTimeoutMillis) {
+        this.blockTimeoutMillis = blockTimeoutMillis;
+    }
+
+    public int getConnectionTimeoutMillis() {
+        return connectionTimeoutMillis;
+    }
+
+    public void setConnectionTimeoutMillis(int connectionTimeoutMillis) {
+        this.connectionTimeoutMillis = connectionTimeoutMillis;
+    }
+
+    public long getReconnectionDelayMillis() {
+        return reconnectionDelayMillis;
+    }
+
+    public void setReconnectionDelayMillis(long reconnectionDelayMillis) {
+        this.reconnectionDelayMillis = reconnectionDelayMillis;
+    }
+
+    public Layout<ILoggingEvent> getLayout() {
+        return layout;
+    }
+
+    public void setLayout(Layout<ILoggingEvent> layout) {
+        this.layout = layout;
+    }
+}
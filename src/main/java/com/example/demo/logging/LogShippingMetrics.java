@@ -0,0 +1,71 @@
+package com.example.demo.logging;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.ILoggerFactory;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Publishes the counters of every {@link BatchingTcpAppender} attached to the Logback configuration,
+ * tagged with the appender name.
+ */
+@Component
+public class LogShippingMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (BatchingTcpAppender appender : findAppenders()) {
+            String name = appender.getName();
+            Gauge.builder("logging.shipping.queued", appender, BatchingTcpAppender::getQueuedCount)
+                    .tag("appender", name)
+                    .description("Log events waiting to be sent")
+                    .register(registry);
+            FunctionCounter.builder("logging.shipping.events", appender, BatchingTcpAppender::getSentCount)
+                    .tag("appender", name).tag("outcome", "sent")
+                    .description("Log events written to the collector")
+                    .register(registry);
+            FunctionCounter.builder("logging.shipping.events", appender, BatchingTcpAppender::getDroppedCount)
+                    .tag("appender", name).tag("outcome", "dropped")
+                    .description("Log events discarded because the queue was full")
+                    .register(registry);
+            FunctionCounter.builder("logging.shipping.events", appender, BatchingTcpAppender::getLostCount)
+                    .tag("appender", name).tag("outcome", "lost")
+                    .description("Log events discarded because the collector could not be reached")
+                    .register(registry);
+            FunctionCounter.builder("logging.shipping.batches", appender, BatchingTcpAppender::getBatchCount)
+                    .tag("appender", name)
+                    .description("Socket writes made by the appender")
+                    .register(registry);
+        }
+    }
+
+    private static Set<BatchingTcpAppender> findAppenders() {
+        Set<BatchingTcpAppender> appenders = Collections.newSetFromMap(new IdentityHashMap<>());
+        ILoggerFactory loggerFactory = LoggerFactory.getILoggerFactory();
+        if (!(loggerFactory instanceof LoggerContext)) {
+            return appenders;
+        }
+        for (Logger logger : ((LoggerContext) loggerFactory).getLoggerList()) {
+            Iterator<Appender<ILoggingEvent>> it = logger.iteratorForAppenders();
+            while (it.hasNext()) {
+                Appender<ILoggingEvent> appender = it.next();
+                if (appender instanceof BatchingTcpAppender) {
+                    appenders.add((BatchingTcpAppender) appender);
+                }
+            }
+        }
+        return appenders;
+    }
+}
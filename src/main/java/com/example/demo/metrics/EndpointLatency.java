@@ -0,0 +1,78 @@
+package com.example.demo.metrics;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Latency and outcome figures of one controller method, as reported by {@link EndpointLatencyEndpoint}.
+ * Percentiles cover the rolling window; counts are totals since startup.
+ */
+public class EndpointLatency {
+
+    @JsonProperty
+    private final String controller;
+
+    @JsonProperty
+    private final String method;
+
+    @JsonProperty
+    private final long successes;
+
+    @JsonProperty
+    private final long failures;
+
+    @JsonProperty
+    private final double p50Millis;
+
+    @JsonProperty
+    private final double p99Millis;
+
+    @JsonProperty
+    private final double p999Millis;
+
+    @JsonProperty
+    private final double maxMillis;
+
+    public EndpointLatency(String controller, String method, long successes, long failures,
+                           double p50Millis, double p99Millis, double p999Millis, double maxMillis) {
+        this.controller = controller;
+        this.method = method;
+        this.successes = successes;
+        this.failures = failures;
+        this.p50Millis = p50Millis;
+        this.p99Millis = p99Millis;
+        this.p999Millis = p999Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    public String getController() {
+        return controller;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public long getSuccesses() {
+        return successes;
+    }
+
+    public long getFailures() {
+        return failures;
+    }
+
+    public double getP50Millis() {
+        return p50Millis;
+    }
+
+    public double getP99Millis() {
+        return p99Millis;
+    }
+
+    public double getP999Millis() {
+        return p999Millis;
+    }
+
+    public double getMaxMillis() {
+        return maxMillis;
+    }
+}
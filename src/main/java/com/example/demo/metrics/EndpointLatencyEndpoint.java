@@ -0,0 +1,51 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /actuator/latency}: per controller method percentiles and success/failure counts, slowest p99 first.
+ */
+@Component
+@Endpoint(id = "latency")
+public class EndpointLatencyEndpoint {
+
+    private final EndpointMetrics endpointMetrics;
+
+    public EndpointLatencyEndpoint(EndpointMetrics endpointMetrics) {
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    @ReadOperation
+    public List<EndpointLatency> latencies() {
+        List<EndpointLatency> latencies = new ArrayList<>();
+        for (EndpointMeters meters : endpointMetrics.all()) {
+            HistogramSnapshot snapshot = meters.latency().takeSnapshot();
+            double p50 = 0;
+            double p99 = 0;
+            double p999 = 0;
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                if (value.percentile() == 0.5) {
+                    p50 = value.value(TimeUnit.MILLISECONDS);
+                } else if (value.percentile() == 0.99) {
+                    p99 = value.value(TimeUnit.MILLISECONDS);
+                } else if (value.percentile() == 0.999) {
+                    p999 = value.value(TimeUnit.MILLISECONDS);
+                }
+            }
+            latencies.add(new EndpointLatency(meters.controller(), meters.method(),
+                    (long) meters.successes().count(), (long) meters.failures().count(),
+                    p50, p99, p999, snapshot.max(TimeUnit.MILLISECONDS)));
+        }
+        latencies.sort(Comparator.comparingDouble(EndpointLatency::getP99Millis).reversed());
+        return latencies;
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-registered meters of one controller method. Built once per method so that recording a request
+ * does not look up or allocate tags.
+ */
+final class EndpointMeters {
+
+    private final String controller;
+    private final String method;
+    private final Timer latency;
+    private final Counter successes;
+    private final Counter failures;
+
+    EndpointMeters(String controller, String method, Timer latency, Counter successes, Counter failures) {
+        this.controller = controller;
+        this.method = method;
+        this.latency = latency;
+        this.successes = successes;
+        this.failures = failures;
+    }
+
+    void record(long durationNanos, boolean success) {
+        latency.record(durationNanos, TimeUnit.NANOSECONDS);
+        if (success) {
+            successes.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    String controller() {
+        return controller;
+    }
+
+    String method() {
+        return method;
+    }
+
+    Timer latency() {
+        return latency;
+    }
+
+    Counter successes() {
+        return successes;
+    }
+
+    Counter failures() {
+        return failures;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Latency histograms and success/failure counters for every {@link RestController} method.
+ * <p>
+ * Each method gets an {@code endpoint.latency} timer publishing rolling p50/p99/p999 (HdrHistogram
+ * based, rotated over {@code window-seconds}) and {@code endpoint.requests} counters tagged with the
+ * outcome. Meters are created on the first request to a method and reused afterwards.
+ */
+@Component
+public class EndpointMetrics {
+
+    private final MeterRegistry registry;
+    private final Duration window;
+    private final ConcurrentMap<Method, EndpointMeters> metersByMethod = new ConcurrentHashMap<>();
+
+    public EndpointMetrics(MeterRegistry registry,
+                           @Value("${metrics.endpoints.window-seconds:60}") long windowSeconds) {
+        this.registry = registry;
+        this.window = Duration.ofSeconds(windowSeconds);
+    }
+
+    /**
+     * Returns the meters of {@code handlerMethod}, or {@code null} if it does not belong to a REST controller.
+     */
+    EndpointMeters metersFor(HandlerMethod handlerMethod) {
+        // plain get first: computeIfAbsent would allocate a capturing lambda on every call
+        EndpointMeters meters = metersByMethod.get(handlerMethod.getMethod());
+        if (meters != null) {
+            return meters;
+        }
+        if (!AnnotatedElementUtils.hasAnnotation(handlerMethod.getBeanType(), RestController.class)) {
+            return null;
+        }
+        return metersByMethod.computeIfAbsent(handlerMethod.getMethod(), method -> register(handlerMethod));
+    }
+
+    Collection<EndpointMeters> all() {
+        return Collections.unmodifiableList(new ArrayList<>(metersByMethod.values()));
+    }
+
+    private EndpointMeters register(HandlerMethod handlerMethod) {
+        String controller = handlerMethod.getBeanType().getSimpleName();
+        String method = handlerMethod.getMethod().getName();
+        Timer latency = Timer.builder("endpoint.latency")
+                .tag("controller", controller).tag("method", method)
+                .description("Time to serve requests handled by the controller method")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .distributionStatisticExpiry(window)
+                .distributionStatisticBufferLength(3)
+                .register(registry);
+        Counter successes = Counter.builder("endpoint.requests")
+                .tag("controller", controller).tag("method", method).tag("outcome", "success")
+                .register(registry);
+        Counter failures = Counter.builder("endpoint.requests")
+                .tag("controller", controller).tag("method", method).tag("outcome", "failure")
+                .register(registry);
+        return new EndpointMeters(controller, method, latency, successes, failures);
+    }
+}
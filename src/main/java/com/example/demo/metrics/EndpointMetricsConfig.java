@@ -0,0 +1,34 @@
+package com.example.demo.metrics;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+// register the interceptor before any that may end the request early (e.g. a 304 from ConditionalGetInterceptor)
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class EndpointMetricsConfig implements WebMvcConfigurer {
+
+    private final EndpointMetrics endpointMetrics;
+
+    public EndpointMetricsConfig(EndpointMetrics endpointMetrics) {
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new EndpointMetricsInterceptor(endpointMetrics));
+    }
+
+    @Bean
+    public FilterRegistrationBean<EndpointMetricsFilter> endpointMetricsFilter() {
+        FilterRegistrationBean<EndpointMetricsFilter> registration = new FilterRegistrationBean<>(new EndpointMetricsFilter());
+        // outside the security filter chain so token verification is part of the measured time
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.demo.metrics;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Times the whole request, including security filters, and records it against the controller method
+ * chosen by {@link EndpointMetricsInterceptor}. Requests that never reach a controller are not recorded.
+ * Responses with a 4xx/5xx status or an exception count as failures. For async handlers the request is
+ * recorded when the async processing completes rather than when the request thread is released.
+ */
+public class EndpointMetricsFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        boolean success = false;
+        boolean async = false;
+        try {
+            filterChain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                async = true;
+                request.getAsyncContext().addListener(new CompletionListener(request, response, start));
+            }
+            success = response.getStatus() < 400;
+        } finally {
+            if (!async) {
+                record(request, start, success);
+            }
+        }
+    }
+
+    private static void record(HttpServletRequest request, long start, boolean success) {
+        Object meters = request.getAttribute(EndpointMetricsInterceptor.METERS_ATTRIBUTE);
+        if (meters instanceof EndpointMeters) {
+            ((EndpointMeters) meters).record(System.nanoTime() - start, success);
+        }
+    }
+
+    private static final class CompletionListener implements AsyncListener {
+        private final HttpServletRequest request;
+        private final HttpServletResponse response;
+        private final long start;
+        private volatile boolean failed;
+
+        CompletionListener(HttpServletRequest request, HttpServletResponse response, long start) {
+            this.request = request;
+            this.response = response;
+            this.start = start;
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            record(request, start, !failed && response.getStatus() < 400);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            failed = true;
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // not used
+        }
+    }
+}
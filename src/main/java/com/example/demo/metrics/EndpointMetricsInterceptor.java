@@ -0,0 +1,32 @@
+package com.example.demo.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Tells {@link EndpointMetricsFilter} which controller method served the request.
+ */
+public class EndpointMetricsInterceptor implements HandlerInterceptor {
+
+    static final String METERS_ATTRIBUTE = EndpointMetricsInterceptor.class.getName() + ".meters";
+
+    private final EndpointMetrics endpointMetrics;
+
+    public EndpointMetricsInterceptor(EndpointMetrics endpointMetrics) {
+        this.endpointMetrics = endpointMetrics;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            EndpointMeters meters = endpointMetrics.metersFor((HandlerMethod) handler);
+            if (meters != null) {
+                request.setAttribute(METERS_ATTRIBUTE, meters);
+            }
+        }
+        return true;
+    }
+}
@@ -1,41 +1,56 @@
 package com.example.demo.model.persistence;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Entity
 @Table(name = "cart")
 public class Cart {
 	
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_seq")
+	@SequenceGenerator(name = "cart_seq", sequenceName = "cart_seq", allocationSize = 50)
 	@JsonProperty
 	@Column
 	private Long id;
 	
-	@ManyToMany
-	@JsonProperty
-	@Column
-    private List<Item> items;
+	// guards against lost updates from other application instances; CartService serializes writes within one
+	@Version
+	@Column(nullable = false)
+	private long version;
+
+	@OneToMany(mappedBy = "cart", cascade = CascadeType.ALL, orphanRemoval = true)
+	@MapKey(name = "itemId")
+	@OrderBy("id")
+	private Map<Long, CartLine> lines = new LinkedHashMap<>();
 	
 	@OneToOne(mappedBy = "cart")
 	@JsonProperty
     private User user;
 	
-	@Column
-	@JsonProperty
-	private BigDecimal total;
+	@Column(name = "total_minor", nullable = false)
+	@Convert(converter = MoneyConverter.class)
+	private Money total = Money.ZERO;
 	
+	@JsonProperty
 	public BigDecimal getTotal() {
-		return total;
+		return getTotalMoney().toBigDecimal();
+	}
+
+	@JsonIgnore
+	public Money getTotalMoney() {
+		return total == null ? Money.ZERO : total;
 	}
 
 	public void setTotal(BigDecimal total) {
-		this.total = total;
+		this.total = total == null ? Money.ZERO : Money.of(total);
 	}
 
 	public User getUser() {
@@ -54,33 +69,50 @@ public class Cart {
 		this.id = id;
 	}
 
-	public List<Item> getItems() {
-		return items;
+	@JsonProperty
+	public List<CartLine> getLines() {
+		return new ArrayList<>(lines.values());
 	}
 
-	public void setItems(List<Item> items) {
-		this.items = items;
+	public int getItemCount() {
+		int count = 0;
+		for (CartLine line : lines.values()) {
+			count += line.getQuantity();
+		}
+		return count;
 	}
-	
+
 	public void addItem(Item item) {
-		if(items == null) {
-			items = new ArrayList<>();
+		addItem(item, 1);
+	}
+
+	public void addItem(Item item, int quantity) {
+		if (quantity <= 0) {
+			return;
 		}
-		items.add(item);
-		if(total == null) {
-			total = new BigDecimal(0);
+		CartLine line = lines.get(item.getId());
+		if (line == null) {
+			line = new CartLine(this, item);
+			lines.put(item.getId(), line);
 		}
-		total = total.add(item.getPrice());
+		line.increase(quantity);
+		total = getTotalMoney().plusTimes(line.getUnitPriceMoney(), quantity);
 	}
-	
+
 	public void removeItem(Item item) {
-		if(items == null) {
-			items = new ArrayList<>();
+		removeItem(item, 1);
+	}
+
+	public void removeItem(Item item, int quantity) {
+		CartLine line = lines.get(item.getId());
+		if (line == null || quantity <= 0) {
+			return;
 		}
-		items.remove(item);
-		if(total == null) {
-			total = new BigDecimal(0);
+		int removed = Math.min(quantity, line.getQuantity());
+		line.decrease(removed);
+		if (line.getQuantity() == 0) {
+			lines.remove(item.getId());
 		}
-		total = total.subtract(item.getPrice());
+		total = getTotalMoney().plusTimes(line.getUnitPriceMoney(), -removed);
 	}
 }
@@ -0,0 +1,78 @@
+package com.example.demo.model.persistence;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * One row per distinct item in a cart. The quantity is carried on the line so that adding or
+ * removing any number of units touches a single row instead of one join row per unit.
+ */
+@Entity
+@Table(name = "cart_line", uniqueConstraints = @UniqueConstraint(columnNames = {"cart_id", "item_id"}))
+public class CartLine {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "cart_line_seq")
+	@SequenceGenerator(name = "cart_line_seq", sequenceName = "cart_line_seq", allocationSize = 50)
+	private Long id;
+
+	@ManyToOne(optional = false)
+	@JoinColumn(name = "cart_id", nullable = false)
+	private Cart cart;
+
+	@ManyToOne(optional = false)
+	@JoinColumn(name = "item_id", nullable = false)
+	@JsonProperty
+	private Item item;
+
+	// Read-only copy of the item foreign key, used as the map key of Cart.lines
+	@Column(name = "item_id", insertable = false, updatable = false)
+	private Long itemId;
+
+	@Column(nullable = false)
+	@JsonProperty
+	private int quantity;
+
+	@Column(name = "unit_price_minor", nullable = false)
+	@Convert(converter = MoneyConverter.class)
+	private Money unitPrice;
+
+	protected CartLine() {
+	}
+
+	CartLine(Cart cart, Item item) {
+		this.cart = cart;
+		this.item = item;
+		this.itemId = item.getId();
+		this.unitPrice = Money.of(item.getPrice());
+	}
+
+	public Item getItem() {
+		return item;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	@JsonProperty
+	public BigDecimal getUnitPrice() {
+		return unitPrice.toBigDecimal();
+	}
+
+	@JsonIgnore
+	public Money getUnitPriceMoney() {
+		return unitPrice;
+	}
+
+	void increase(int amount) {
+		quantity += amount;
+	}
+
+	void decrease(int amount) {
+		quantity -= amount;
+	}
+}
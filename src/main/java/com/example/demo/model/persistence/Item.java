@@ -6,11 +6,15 @@ import javax.persistence.*;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "item")
+@Table(name = "item", indexes = {
+		@Index(name = "idx_item_name_id", columnList = "name, id"),
+		@Index(name = "idx_item_price_id", columnList = "price, id")
+})
 public class Item {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq")
+	@SequenceGenerator(name = "item_seq", sequenceName = "item_seq", allocationSize = 50)
 	@JsonProperty
 	private Long id;
 	
@@ -64,7 +68,7 @@ public class Item {
 		this.name = name;
 	}
 
-	BigDecimal getPrice() {
+	public BigDecimal getPrice() {
 		return price;
 	}
 
@@ -0,0 +1,120 @@
+package com.example.demo.model.persistence;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Currency;
+
+/**
+ * An amount held as a whole number of minor units (cents for USD) of a currency. Arithmetic is exact
+ * long arithmetic that fails on overflow instead of wrapping, and converting from a {@link BigDecimal}
+ * with more fraction digits than the currency allows fails instead of rounding silently.
+ * <p>
+ * Persisted through {@link MoneyConverter} as an integer column in {@link #DEFAULT_CURRENCY}.
+ */
+public final class Money implements Comparable<Money>, Serializable {
+
+	public static final Currency DEFAULT_CURRENCY = Currency.getInstance("USD");
+	public static final Money ZERO = new Money(0, DEFAULT_CURRENCY);
+
+	private final long minorUnits;
+	private final Currency currency;
+
+	private Money(long minorUnits, Currency currency) {
+		this.minorUnits = minorUnits;
+		this.currency = currency;
+	}
+
+	public static Money ofMinor(long minorUnits) {
+		return ofMinor(minorUnits, DEFAULT_CURRENCY);
+	}
+
+	public static Money ofMinor(long minorUnits, Currency currency) {
+		return minorUnits == 0 && currency == DEFAULT_CURRENCY ? ZERO : new Money(minorUnits, currency);
+	}
+
+	public static Money of(BigDecimal amount) {
+		return of(amount, DEFAULT_CURRENCY);
+	}
+
+	/**
+	 * @throws ArithmeticException if {@code amount} has more fraction digits than {@code currency}
+	 *                             or does not fit in a long number of minor units
+	 */
+	public static Money of(BigDecimal amount, Currency currency) {
+		BigDecimal scaled = amount.setScale(currency.getDefaultFractionDigits(), RoundingMode.UNNECESSARY);
+		return ofMinor(scaled.unscaledValue().longValueExact(), currency);
+	}
+
+	public Money plus(Money other) {
+		checkCurrency(other);
+		return ofMinor(Math.addExact(minorUnits, other.minorUnits), currency);
+	}
+
+	public Money minus(Money other) {
+		checkCurrency(other);
+		return ofMinor(Math.subtractExact(minorUnits, other.minorUnits), currency);
+	}
+
+	public Money times(long factor) {
+		return ofMinor(Math.multiplyExact(minorUnits, factor), currency);
+	}
+
+	/**
+	 * Returns {@code this + amount * factor} without creating the intermediate product.
+	 */
+	public Money plusTimes(Money amount, long factor) {
+		checkCurrency(amount);
+		return ofMinor(Math.addExact(minorUnits, Math.multiplyExact(amount.minorUnits, factor)), currency);
+	}
+
+	public long getMinorUnits() {
+		return minorUnits;
+	}
+
+	public Currency getCurrency() {
+		return currency;
+	}
+
+	public boolean isZero() {
+		return minorUnits == 0;
+	}
+
+	public BigDecimal toBigDecimal() {
+		return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+	}
+
+	@Override
+	public int compareTo(Money other) {
+		checkCurrency(other);
+		return Long.compare(minorUnits, other.minorUnits);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof Money)) {
+			return false;
+		}
+		Money other = (Money) obj;
+		return minorUnits == other.minorUnits && currency.equals(other.currency);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Long.hashCode(minorUnits) + currency.hashCode();
+	}
+
+	@Override
+	public String toString() {
+		return currency.getCurrencyCode() + " " + toBigDecimal().toPlainString();
+	}
+
+	private void checkCurrency(Money other) {
+		if (!currency.equals(other.currency)) {
+			throw new IllegalArgumentException("Currency mismatch: " + currency + " and " + other.currency);
+		}
+	}
+}
@@ -0,0 +1,28 @@
+package com.example.demo.model.persistence;
+
+import javax.persistence.AttributeConverter;
+import javax.persistence.Converter;
+
+/**
+ * Stores {@link Money} as its number of minor units. Columns carry no currency, so only amounts in
+ * {@link Money#DEFAULT_CURRENCY} can be written.
+ */
+@Converter
+public class MoneyConverter implements AttributeConverter<Money, Long> {
+
+	@Override
+	public Long convertToDatabaseColumn(Money money) {
+		if (money == null) {
+			return null;
+		}
+		if (!Money.DEFAULT_CURRENCY.equals(money.getCurrency())) {
+			throw new IllegalArgumentException("Only " + Money.DEFAULT_CURRENCY + " amounts can be stored: " + money);
+		}
+		return money.getMinorUnits();
+	}
+
+	@Override
+	public Money convertToEntityAttribute(Long minorUnits) {
+		return minorUnits == null ? null : Money.ofMinor(minorUnits);
+	}
+}
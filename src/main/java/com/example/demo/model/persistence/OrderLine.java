@@ -0,0 +1,67 @@
+package com.example.demo.model.persistence;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import javax.persistence.*;
+import java.math.BigDecimal;
+
+/**
+ * Snapshot of a cart line taken when the order is placed. The item is copied rather than referenced, so
+ * reading order history needs no join to the catalog and later price or name changes do not rewrite
+ * past orders.
+ */
+@Embeddable
+public class OrderLine {
+
+	// plain column, not a foreign key: orders must survive items being changed or removed
+	@Column(name = "item_id", nullable = false, updatable = false)
+	@JsonProperty
+	private Long itemId;
+
+	@Column(name = "item_name", nullable = false, updatable = false)
+	@JsonProperty
+	private String itemName;
+
+	@Column(nullable = false, updatable = false)
+	@JsonProperty
+	private int quantity;
+
+	@Column(name = "unit_price_minor", nullable = false, updatable = false)
+	@Convert(converter = MoneyConverter.class)
+	private Money unitPrice;
+
+	protected OrderLine() {
+	}
+
+	static OrderLine from(CartLine line) {
+		OrderLine orderLine = new OrderLine();
+		orderLine.itemId = line.getItem().getId();
+		orderLine.itemName = line.getItem().getName();
+		orderLine.quantity = line.getQuantity();
+		orderLine.unitPrice = line.getUnitPriceMoney();
+		return orderLine;
+	}
+
+	public Long getItemId() {
+		return itemId;
+	}
+
+	public String getItemName() {
+		return itemName;
+	}
+
+	public int getQuantity() {
+		return quantity;
+	}
+
+	@JsonProperty
+	public BigDecimal getUnitPrice() {
+		return unitPrice.toBigDecimal();
+	}
+
+	@JsonIgnore
+	public Money getUnitPriceMoney() {
+		return unitPrice;
+	}
+}
@@ -8,10 +8,20 @@ import javax.persistence.*;
 
 @Entity
 @Table(name = "user")
+// what a cart change or an order submission reads: the user, the cart, its lines and their items
+@NamedEntityGraph(name = User.WITH_CART,
+		attributeNodes = @NamedAttributeNode(value = "cart", subgraph = "cart"),
+		subgraphs = {
+				@NamedSubgraph(name = "cart", attributeNodes = @NamedAttributeNode(value = "lines", subgraph = "lines")),
+				@NamedSubgraph(name = "lines", attributeNodes = @NamedAttributeNode("item"))
+		})
 public class User {
 
+	public static final String WITH_CART = "User.withCart";
+
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_seq")
+	@SequenceGenerator(name = "user_seq", sequenceName = "user_seq", allocationSize = 50)
 	@JsonProperty
 	private long id;
 
@@ -23,7 +33,8 @@ public class User {
 	@JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
 	private String password;
 
-	@OneToOne(cascade = CascadeType.ALL)
+	// lazy: most reads of a user do not need the cart; use the WITH_CART graph when they do
+	@OneToOne(fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     @JoinColumn(name = "cart_id", referencedColumnName = "id")
 	@JsonIgnore
     private Cart cart;
@@ -1,35 +1,48 @@
 package com.example.demo.model.persistence;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import org.hibernate.annotations.Immutable;
 
 import javax.persistence.*;
 import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.time.Instant;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Entity
-@Table(name = "user_order")
+@Immutable
+@Table(name = "user_order", indexes = @Index(name = "idx_user_order_user_created", columnList = "user_id, created_at"))
 public class UserOrder {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_order_seq")
+	@SequenceGenerator(name = "user_order_seq", sequenceName = "user_order_seq", allocationSize = 50)
 	@JsonProperty
 	@Column
 	private Long id;
 	
-	@ManyToMany(cascade = CascadeType.ALL)
+	@ElementCollection
+	@CollectionTable(name = "user_order_line", joinColumns = @JoinColumn(name = "order_id"))
 	@JsonProperty
-	@Column
-    private List<Item> items;
+    private List<OrderLine> lines;
 	
 	@ManyToOne
 	@JoinColumn(name="user_id", nullable = false, referencedColumnName = "id")
 	@JsonProperty
     private User user;
 	
+	@Column(name = "total_minor")
+	@Convert(converter = MoneyConverter.class)
+	private Money total;
+
 	@JsonProperty
-	@Column
-	private BigDecimal total;
+	@Column(nullable = false)
+	private int itemCount;
+
+	@JsonProperty
+	@Column(name = "created_at", nullable = false)
+	private Instant createdAt;
 
 	public Long getId() {
 		return id;
@@ -39,12 +52,12 @@ public class UserOrder {
 		this.id = id;
 	}
 
-	public List<Item> getItems() {
-		return items;
+	public List<OrderLine> getLines() {
+		return lines;
 	}
 
-	private void setItems(List<Item> items) {
-		this.items = items;
+	private void setLines(List<OrderLine> lines) {
+		this.lines = lines;
 	}
 
 	public User getUser() {
@@ -55,18 +68,32 @@ public class UserOrder {
 		this.user = user;
 	}
 	
+	@JsonProperty
 	public BigDecimal getTotal() {
+		return total == null ? null : total.toBigDecimal();
+	}
+
+	@JsonIgnore
+	public Money getTotalMoney() {
 		return total;
 	}
 
-	private void setTotal(BigDecimal total) {
-		this.total = total;
+	public int getItemCount() {
+		return itemCount;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
 	}
 
 	public static UserOrder createFromCart(Cart cart) {
 		UserOrder order = new UserOrder();
-		order.setItems(new ArrayList<>(cart.getItems()));
-		order.setTotal(cart.getTotal());
+		order.setLines(cart.getLines().stream()
+				.map(OrderLine::from)
+				.collect(Collectors.toList()));
+		order.total = cart.getTotalMoney();
+		order.itemCount = cart.getItemCount();
+		order.createdAt = Instant.now();
 		order.setUser(cart.getUser());
 		return order;
 	}
@@ -3,7 +3,9 @@ package com.example.demo.model.persistence.repositories;
 import com.example.demo.model.persistence.Cart;
 import com.example.demo.model.persistence.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface CartRepository extends JpaRepository<Cart, Long> {
+	@Transactional(readOnly = true)
 	Cart findByUser(User user);
 }
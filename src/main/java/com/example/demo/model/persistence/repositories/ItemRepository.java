@@ -1,10 +1,37 @@
 package com.example.demo.model.persistence.repositories;
 
 import com.example.demo.model.persistence.Item;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
 import java.util.List;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
+	@Transactional(readOnly = true)
 	List<Item> findByName(String name);
+
+	// Keyset pages: each query seeks past the (sort key, id) of the last row of the previous page
+	@Transactional(readOnly = true)
+	List<Item> findAllByOrderByIdAsc(Pageable pageable);
+
+	@Transactional(readOnly = true)
+	List<Item> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+	@Transactional(readOnly = true)
+	List<Item> findAllByOrderByNameAscIdAsc(Pageable pageable);
+
+	@Transactional(readOnly = true)
+	@Query("select i from Item i where i.name > :name or (i.name = :name and i.id > :id) order by i.name asc, i.id asc")
+	List<Item> findNameKeysetPage(@Param("name") String name, @Param("id") Long id, Pageable pageable);
+
+	@Transactional(readOnly = true)
+	List<Item> findAllByOrderByPriceAscIdAsc(Pageable pageable);
+
+	@Transactional(readOnly = true)
+	@Query("select i from Item i where i.price > :price or (i.price = :price and i.id > :id) order by i.price asc, i.id asc")
+	List<Item> findPriceKeysetPage(@Param("price") BigDecimal price, @Param("id") Long id, Pageable pageable);
 }
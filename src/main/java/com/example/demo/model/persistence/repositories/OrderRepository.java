@@ -1,11 +1,33 @@
 package com.example.demo.model.persistence.repositories;
 
-import com.example.demo.model.persistence.User;
 import com.example.demo.model.persistence.UserOrder;
+import com.example.demo.model.responses.OrderSummary;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
 import java.util.List;
+import java.util.Optional;
 
 public interface OrderRepository extends JpaRepository<UserOrder, Long> {
-	List<UserOrder> findByUser(User user);
+	// orders with their lines and user in one query; distinct drops the rows duplicated by the join in memory only
+	@Transactional(readOnly = true)
+	@Query("select distinct o from UserOrder o join fetch o.user u left join fetch o.lines " +
+			"where u.username = :username order by o.createdAt, o.id")
+	@QueryHints(@QueryHint(name = "hibernate.query.passDistinctThrough", value = "false"))
+	List<UserOrder> findWithLinesByUsername(@Param("username") String username);
+
+	@Transactional(readOnly = true)
+	@Query("select new com.example.demo.model.responses.OrderSummary(o.id, o.total, o.itemCount, o.createdAt) " +
+			"from UserOrder o where o.user.username = :username order by o.createdAt desc, o.id desc")
+	Slice<OrderSummary> findSummariesByUsername(@Param("username") String username, Pageable pageable);
+
+	@Transactional(readOnly = true)
+	@Query("select o from UserOrder o left join fetch o.lines where o.id = :id and o.user.username = :username")
+	Optional<UserOrder> findDetailByIdAndUsername(@Param("id") Long id, @Param("username") String username);
 }
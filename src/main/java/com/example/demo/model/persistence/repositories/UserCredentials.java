@@ -0,0 +1,11 @@
+package com.example.demo.model.persistence.repositories;
+
+/**
+ * Closed projection of {@link com.example.demo.model.persistence.User} carrying only what
+ * authentication needs, so the lookup selects two columns and never touches the cart.
+ */
+public interface UserCredentials {
+	String getUsername();
+
+	String getPassword();
+}
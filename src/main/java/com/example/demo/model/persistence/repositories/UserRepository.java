@@ -1,8 +1,22 @@
 package com.example.demo.model.persistence.repositories;
 
 import com.example.demo.model.persistence.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
+	@Transactional(readOnly = true)
 	User findByUsername(String username);
+
+	// user, cart, cart lines and their items in one query
+	@Transactional(readOnly = true)
+	@EntityGraph(User.WITH_CART)
+	User findWithCartByUsername(String username);
+
+	@Transactional(readOnly = true)
+	boolean existsByUsername(String username);
+
+	// no read-only transaction: login follows sign-up immediately, so credentials are read from the primary
+	UserCredentials findCredentialsByUsername(String username);
 }
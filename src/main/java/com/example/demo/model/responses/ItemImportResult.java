@@ -0,0 +1,52 @@
+package com.example.demo.model.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class ItemImportResult {
+
+	@JsonProperty
+	private final long imported;
+
+	@JsonProperty
+	private final long rejected;
+
+	@JsonProperty
+	private final long durationMillis;
+
+	@JsonProperty
+	private final double rowsPerSecond;
+
+	// the first rejections, each as "row <n>: <reason>"
+	@JsonProperty
+	private final List<String> errors;
+
+	public ItemImportResult(long imported, long rejected, long durationMillis, double rowsPerSecond, List<String> errors) {
+		this.imported = imported;
+		this.rejected = rejected;
+		this.durationMillis = durationMillis;
+		this.rowsPerSecond = rowsPerSecond;
+		this.errors = errors;
+	}
+
+	public long getImported() {
+		return imported;
+	}
+
+	public long getRejected() {
+		return rejected;
+	}
+
+	public long getDurationMillis() {
+		return durationMillis;
+	}
+
+	public double getRowsPerSecond() {
+		return rowsPerSecond;
+	}
+
+	public List<String> getErrors() {
+		return errors;
+	}
+}
@@ -0,0 +1,28 @@
+package com.example.demo.model.responses;
+
+import com.example.demo.model.persistence.Item;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class ItemPage {
+
+	@JsonProperty
+	private final List<Item> items;
+
+	@JsonProperty
+	private final String nextCursor;
+
+	public ItemPage(List<Item> items, String nextCursor) {
+		this.items = items;
+		this.nextCursor = nextCursor;
+	}
+
+	public List<Item> getItems() {
+		return items;
+	}
+
+	public String getNextCursor() {
+		return nextCursor;
+	}
+}
@@ -0,0 +1,43 @@
+package com.example.demo.model.responses;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+public class OrderHistoryPage {
+
+	@JsonProperty
+	private final List<OrderSummary> orders;
+
+	@JsonProperty
+	private final int page;
+
+	@JsonProperty
+	private final int size;
+
+	@JsonProperty
+	private final boolean hasNext;
+
+	public OrderHistoryPage(List<OrderSummary> orders, int page, int size, boolean hasNext) {
+		this.orders = orders;
+		this.page = page;
+		this.size = size;
+		this.hasNext = hasNext;
+	}
+
+	public List<OrderSummary> getOrders() {
+		return orders;
+	}
+
+	public int getPage() {
+		return page;
+	}
+
+	public int getSize() {
+		return size;
+	}
+
+	public boolean hasNext() {
+		return hasNext;
+	}
+}
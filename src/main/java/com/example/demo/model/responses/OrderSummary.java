@@ -0,0 +1,53 @@
+package com.example.demo.model.responses;
+
+import com.example.demo.model.persistence.Money;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Row of the order history listing, selected directly by JPQL constructor expression.
+ */
+public class OrderSummary {
+
+	@JsonProperty
+	private final Long id;
+
+	@JsonProperty
+	private final BigDecimal total;
+
+	@JsonProperty
+	private final int itemCount;
+
+	@JsonProperty
+	private final Instant createdAt;
+
+	// used by the JPQL constructor expression, where the total is the converted attribute
+	public OrderSummary(Long id, Money total, int itemCount, Instant createdAt) {
+		this(id, total == null ? null : total.toBigDecimal(), itemCount, createdAt);
+	}
+
+	public OrderSummary(Long id, BigDecimal total, int itemCount, Instant createdAt) {
+		this.id = id;
+		this.total = total;
+		this.itemCount = itemCount;
+		this.createdAt = createdAt;
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public BigDecimal getTotal() {
+		return total;
+	}
+
+	public int getItemCount() {
+		return itemCount;
+	}
+
+	public Instant getCreatedAt() {
+		return createdAt;
+	}
+}
@@ -5,12 +5,15 @@ import com.auth0.jwt.algorithms.Algorithm;
 import com.example.demo.model.persistence.User;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.AuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
@@ -31,9 +34,22 @@ public class JWTAuthenticationFilter extends UsernamePasswordAuthenticationFilte
             return authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(userCredentials.getUsername(), userCredentials.getPassword(), Collections.emptyList()));
         } catch (IOException ex) {
             throw new RuntimeException(ex);
+        } catch (PasswordHashingUnavailableException ex) {
+            throw new AuthenticationServiceException(ex.getMessage(), ex);
         }
     }
 
+    @Override
+    protected void unsuccessfulAuthentication(HttpServletRequest request, HttpServletResponse response, AuthenticationException failed) throws IOException, ServletException {
+        if (failed.getCause() instanceof PasswordHashingUnavailableException) {
+            // the credentials were never checked, so this is not a failed login
+            SecurityContextHolder.clearContext();
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, failed.getMessage());
+            return;
+        }
+        super.unsuccessfulAuthentication(request, response, failed);
+    }
+
     @Override
     protected void successfulAuthentication(HttpServletRequest request, HttpServletResponse response, FilterChain chain, Authentication authResult) {
         Date expirationDate = new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME);
@@ -1,7 +1,5 @@
 package com.example.demo.security;
 
-import com.auth0.jwt.JWT;
-import com.auth0.jwt.algorithms.Algorithm;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -18,8 +16,11 @@ import static com.example.demo.security.SecurityConstants.*;
 
 public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
 
-    JWTAuthorizationFilter(AuthenticationManager authenticationManager) {
+    private final JWTTokenVerifier tokenVerifier;
+
+    JWTAuthorizationFilter(AuthenticationManager authenticationManager, JWTTokenVerifier tokenVerifier) {
         super(authenticationManager);
+        this.tokenVerifier = tokenVerifier;
     }
 
     @Override
@@ -40,10 +41,7 @@ public class JWTAuthorizationFilter extends BasicAuthenticationFilter {
     private UsernamePasswordAuthenticationToken getAuthentication(String header) {
         if (header != null) {
             // parse the token.
-            String user = JWT.require(Algorithm.HMAC512(SECRET.getBytes()))
-                    .build()
-                    .verify(header.replace(TOKEN_PREFIX, ""))
-                    .getSubject();
+            String user = tokenVerifier.verify(header.replace(TOKEN_PREFIX, ""));
 
             return user != null ? new UsernamePasswordAuthenticationToken(user, null, new ArrayList<>()) : null;
         }
@@ -0,0 +1,82 @@
+package com.example.demo.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import com.example.demo.cache.BoundedCache;
+import com.example.demo.cache.BoundedCacheMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import static com.example.demo.security.SecurityConstants.SECRET;
+
+/**
+ * Verifies bearer tokens with a single shared {@link JWTVerifier} and remembers the subject of
+ * tokens that passed verification until they expire, so repeat calls with the same token skip the
+ * signature check. Entries are keyed by a SHA-256 digest of the token rather than the token itself.
+ */
+@Component
+public class JWTTokenVerifier {
+
+    private final JWTVerifier verifier = JWT.require(Algorithm.HMAC512(SECRET.getBytes())).build();
+    private final BoundedCache<String, String> verifiedTokens;
+    private final Timer verifyTimer;
+
+    public JWTTokenVerifier(MeterRegistry meterRegistry,
+                            @Value("${security.jwt.cache.maximum-size:10000}") int maximumSize) {
+        // entries are stored with the token's own expiry; the default TTL only applies to tokens without one
+        this.verifiedTokens = new BoundedCache<>(maximumSize, SecurityConstants.EXPIRATION_TIME, TimeUnit.MILLISECONDS);
+        this.verifyTimer = Timer.builder("security.jwt.verify")
+                .description("Time spent verifying token signatures on cache misses")
+                .register(meterRegistry);
+        new BoundedCacheMetrics(verifiedTokens, "jwt.verified").bindTo(meterRegistry);
+    }
+
+    /**
+     * Returns the subject of {@code token}.
+     *
+     * @throws JWTVerificationException if the token is invalid or expired
+     */
+    public String verify(String token) {
+        String key = digest(token);
+        String subject = verifiedTokens.getIfPresent(key);
+        if (subject != null) {
+            return subject;
+        }
+
+        long start = System.nanoTime();
+        DecodedJWT jwt = verifier.verify(token);
+        verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+        subject = jwt.getSubject();
+        Date expiresAt = jwt.getExpiresAt();
+        if (subject != null && expiresAt != null) {
+            long ttl = expiresAt.getTime() - System.currentTimeMillis();
+            if (ttl > 0) {
+                verifiedTokens.put(key, subject, ttl, TimeUnit.MILLISECONDS);
+            }
+        }
+        return subject;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            // every JVM is required to provide SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+}
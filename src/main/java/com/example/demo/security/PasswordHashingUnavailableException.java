@@ -0,0 +1,15 @@
+package com.example.demo.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when the password hashing pool cannot take or finish a request in time.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class PasswordHashingUnavailableException extends RuntimeException {
+
+    PasswordHashingUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
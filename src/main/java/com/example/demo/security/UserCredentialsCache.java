@@ -0,0 +1,48 @@
+package com.example.demo.security;
+
+import com.example.demo.cache.BoundedCache;
+import com.example.demo.cache.BoundedCacheMetrics;
+import com.example.demo.model.persistence.repositories.UserCredentials;
+import com.example.demo.model.persistence.repositories.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded, expiring cache of username to password hash, loaded through the
+ * {@link UserCredentials} projection. Unknown usernames are not cached. Anything that creates a
+ * user or changes a password must call {@link #invalidate(String)} afterwards.
+ */
+@Component
+public class UserCredentialsCache {
+
+    private final UserRepository userRepository;
+    private final BoundedCache<String, String> passwordHashes;
+
+    public UserCredentialsCache(UserRepository userRepository,
+                                MeterRegistry meterRegistry,
+                                @Value("${security.credentials.cache.maximum-size:10000}") int maximumSize,
+                                @Value("${security.credentials.cache.ttl-seconds:300}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.passwordHashes = new BoundedCache<>(maximumSize, ttlSeconds, TimeUnit.SECONDS);
+        new BoundedCacheMetrics(passwordHashes, "user.credentials").bindTo(meterRegistry);
+    }
+
+    /**
+     * Returns the stored password hash of {@code username}, or {@code null} if there is no such user.
+     */
+    public String findPasswordHash(String username) {
+        return passwordHashes.get(username, this::load);
+    }
+
+    public void invalidate(String username) {
+        passwordHashes.invalidate(username);
+    }
+
+    private String load(String username) {
+        UserCredentials credentials = userRepository.findCredentialsByUsername(username);
+        return credentials == null ? null : credentials.getPassword();
+    }
+}
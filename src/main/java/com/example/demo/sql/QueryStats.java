@@ -0,0 +1,59 @@
+package com.example.demo.sql;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * What one unit of work (usually an HTTP request) asked of the database: JDBC statements executed
+ * (a batch counts once), entities loaded, collections fetched and time spent executing statements.
+ * A count of collection fetches close to the number of loaded entities is the usual sign of N+1
+ * lazy loading.
+ * <p>
+ * Updated by the Hibernate listeners of {@link QueryStatsConfig} through {@link QueryStatsContext},
+ * possibly from more than one thread.
+ */
+public final class QueryStats {
+
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder entitiesLoaded = new LongAdder();
+    private final LongAdder collectionsFetched = new LongAdder();
+    private final LongAdder jdbcNanos = new LongAdder();
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getEntitiesLoaded() {
+        return entitiesLoaded.sum();
+    }
+
+    public long getCollectionsFetched() {
+        return collectionsFetched.sum();
+    }
+
+    public long getJdbcNanos() {
+        return jdbcNanos.sum();
+    }
+
+    void statementExecuted(long nanos) {
+        statements.increment();
+        jdbcNanos.add(nanos);
+    }
+
+    void entityLoaded() {
+        entitiesLoaded.increment();
+    }
+
+    void collectionFetched() {
+        collectionsFetched.increment();
+    }
+
+    /**
+     * @return e.g. {@code statements=4;entities=12;collections=3;jdbc-ms=1.87}
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "statements=%d;entities=%d;collections=%d;jdbc-ms=%.2f",
+                getStatements(), getEntitiesLoaded(), getCollectionsFetched(), getJdbcNanos() / 1_000_000.0);
+    }
+}
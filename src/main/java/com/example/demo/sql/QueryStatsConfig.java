@@ -0,0 +1,47 @@
+package com.example.demo.sql;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.util.Collections;
+
+/**
+ * Per-request SQL statistics ({@code metrics.sql.*}). Hibernate reports every statement, entity load
+ * and collection fetch of a session to {@link QueryStatsContext}, and {@link QueryStatsFilter} binds
+ * a fresh {@link QueryStats} to each request.
+ */
+@Configuration
+@ConditionalOnProperty(name = "metrics.sql.enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatsListeners() {
+        return properties -> {
+            properties.put("hibernate.session.events.auto", QueryStatsSessionListener.class.getName());
+            properties.put("hibernate.integrator_provider",
+                    (IntegratorProvider) () -> Collections.singletonList(new QueryStatsIntegrator()));
+        };
+    }
+
+    @Bean
+    public QueryStatsMetrics queryStatsMetrics(MeterRegistry meterRegistry) {
+        return new QueryStatsMetrics(meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<QueryStatsFilter> queryStatsFilter(QueryStatsMetrics queryStatsMetrics,
+                                                                     @Value("${metrics.sql.response-header:false}") boolean responseHeader) {
+        FilterRegistrationBean<QueryStatsFilter> registration =
+                new FilterRegistrationBean<>(new QueryStatsFilter(queryStatsMetrics, responseHeader));
+        // right inside EndpointMetricsFilter, so the user lookups of the security filters are counted
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.demo.sql;
+
+/**
+ * Holds the {@link QueryStats} that database work on the current thread is counted against.
+ * Work on a thread without bound stats is not counted.
+ */
+public final class QueryStatsContext {
+
+    private static final ThreadLocal<QueryStats> CURRENT = new ThreadLocal<>();
+
+    private QueryStatsContext() {
+    }
+
+    public static QueryStats current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Counts the current thread's work against {@code stats} (nothing if {@code null}).
+     *
+     * @return the stats bound before, to be restored with another call once the work is done
+     */
+    public static QueryStats bind(QueryStats stats) {
+        QueryStats previous = CURRENT.get();
+        if (stats == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(stats);
+        }
+        return previous;
+    }
+}
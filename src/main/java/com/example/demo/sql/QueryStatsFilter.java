@@ -0,0 +1,76 @@
+package com.example.demo.sql;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.WebUtils;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Counts the database work of each request into a {@link QueryStats} and records it in
+ * {@link QueryStatsMetrics} under the matched URI pattern once the request is complete, including
+ * async processing. Requests that never reach a handler are not recorded.
+ * <p>
+ * With {@code responseHeader} the stats are also returned in the {@value #HEADER} header. Lazy
+ * loading can still happen while the body is serialized, so the body is buffered until the stats
+ * are final; that is meant for development and tests, not production.
+ */
+public class QueryStatsFilter extends OncePerRequestFilter {
+
+    public static final String HEADER = "X-Query-Stats";
+
+    private static final String STATS_ATTRIBUTE = QueryStatsFilter.class.getName() + ".stats";
+
+    private final QueryStatsMetrics metrics;
+    private final boolean responseHeader;
+
+    public QueryStatsFilter(QueryStatsMetrics metrics, boolean responseHeader) {
+        this.metrics = metrics;
+        this.responseHeader = responseHeader;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        // the async dispatch completes the request, so the stats are reported from there
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryStats stats = (QueryStats) request.getAttribute(STATS_ATTRIBUTE);
+        if (stats == null) {
+            stats = new QueryStats();
+            request.setAttribute(STATS_ATTRIBUTE, stats);
+        }
+        HttpServletResponse target = response;
+        if (responseHeader && WebUtils.getNativeResponse(response, ContentCachingResponseWrapper.class) == null) {
+            target = new ContentCachingResponseWrapper(response);
+        }
+
+        QueryStats previous = QueryStatsContext.bind(stats);
+        try {
+            filterChain.doFilter(request, target);
+        } finally {
+            QueryStatsContext.bind(previous);
+        }
+        if (isAsyncStarted(request)) {
+            return;
+        }
+
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (uri != null) {
+            metrics.record(uri.toString(), stats);
+        }
+        ContentCachingResponseWrapper buffered = WebUtils.getNativeResponse(target, ContentCachingResponseWrapper.class);
+        if (buffered != null) {
+            buffered.setHeader(HEADER, stats.toString());
+            buffered.copyBodyToResponse();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.demo.sql;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+
+/**
+ * Adds the listeners that count loaded entities and fetched collections. Both run after Hibernate's
+ * own, so only loads that actually happened are counted.
+ */
+public class QueryStatsIntegrator implements Integrator {
+
+    @Override
+    public void integrate(Metadata metadata, SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        EventListenerRegistry registry = serviceRegistry.getService(EventListenerRegistry.class);
+        LoadCounter counter = new LoadCounter();
+        registry.appendListeners(EventType.POST_LOAD, counter);
+        registry.appendListeners(EventType.INIT_COLLECTION, counter);
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // nothing to release
+    }
+
+    private static final class LoadCounter implements PostLoadEventListener, InitializeCollectionEventListener {
+
+        @Override
+        public void onPostLoad(PostLoadEvent event) {
+            QueryStats stats = QueryStatsContext.current();
+            if (stats != null) {
+                stats.entityLoaded();
+            }
+        }
+
+        @Override
+        public void onInitializeCollection(InitializeCollectionEvent event) {
+            QueryStats stats = QueryStatsContext.current();
+            if (stats != null) {
+                stats.collectionFetched();
+            }
+        }
+    }
+}
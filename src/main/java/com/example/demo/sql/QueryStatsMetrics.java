@@ -0,0 +1,62 @@
+package com.example.demo.sql;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request database work by URI pattern: {@code request.sql.statements},
+ * {@code request.sql.entities}, {@code request.sql.collections} (distribution summaries) and
+ * {@code request.sql.jdbc} (timer).
+ */
+public class QueryStatsMetrics {
+
+    private final MeterRegistry registry;
+    private final ConcurrentMap<String, Meters> metersByUri = new ConcurrentHashMap<>();
+
+    public QueryStatsMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(String uri, QueryStats stats) {
+        // plain get first: computeIfAbsent would allocate a capturing lambda on every call
+        Meters meters = metersByUri.get(uri);
+        if (meters == null) {
+            meters = metersByUri.computeIfAbsent(uri, this::register);
+        }
+        meters.statements.record(stats.getStatements());
+        meters.entities.record(stats.getEntitiesLoaded());
+        meters.collections.record(stats.getCollectionsFetched());
+        meters.jdbc.record(stats.getJdbcNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    private Meters register(String uri) {
+        return new Meters(
+                DistributionSummary.builder("request.sql.statements").tag("uri", uri)
+                        .description("JDBC statements executed per request").register(registry),
+                DistributionSummary.builder("request.sql.entities").tag("uri", uri)
+                        .description("Entities loaded per request").register(registry),
+                DistributionSummary.builder("request.sql.collections").tag("uri", uri)
+                        .description("Collections fetched per request").register(registry),
+                Timer.builder("request.sql.jdbc").tag("uri", uri)
+                        .description("Time per request spent executing JDBC statements").register(registry));
+    }
+
+    private static final class Meters {
+        private final DistributionSummary statements;
+        private final DistributionSummary entities;
+        private final DistributionSummary collections;
+        private final Timer jdbc;
+
+        Meters(DistributionSummary statements, DistributionSummary entities, DistributionSummary collections, Timer jdbc) {
+            this.statements = statements;
+            this.entities = entities;
+            this.collections = collections;
+            this.jdbc = jdbc;
+        }
+    }
+}
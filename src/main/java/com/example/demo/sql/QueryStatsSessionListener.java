@@ -0,0 +1,39 @@
+package com.example.demo.sql;
+
+import org.hibernate.engine.spi.BaseSessionEventListener;
+
+/**
+ * Counts statement executions and their JDBC time. Hibernate creates one per session
+ * ({@code hibernate.session.events.auto}), and a session executes one statement at a time.
+ */
+public class QueryStatsSessionListener extends BaseSessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        QueryStats stats = QueryStatsContext.current();
+        if (stats != null) {
+            stats.statementExecuted(System.nanoTime() - executionStart);
+        }
+    }
+}
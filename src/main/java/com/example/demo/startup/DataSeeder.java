@@ -0,0 +1,66 @@
+package com.example.demo.startup;
+
+import com.example.demo.catalog.ItemCatalog;
+import com.example.demo.model.persistence.Cart;
+import com.example.demo.model.persistence.User;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.model.persistence.repositories.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Creates the default admin user and, when the catalog is empty, loads the item data script. Used at
+ * startup by default and after the application is ready with {@code startup.deferred-seeding=true}.
+ */
+@Component
+public class DataSeeder {
+
+    private static final String ADMIN = "admin";
+    private static final String PASSWORD = "password";
+
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final PasswordEncoder passwordEncoder;
+    private final ItemCatalog itemCatalog;
+    private final DataSource dataSource;
+    private final Resource dataScript;
+
+    public DataSeeder(UserRepository userRepository,
+                      ItemRepository itemRepository,
+                      PasswordEncoder passwordEncoder,
+                      ItemCatalog itemCatalog,
+                      DataSource dataSource,
+                      @Value("${startup.seed.data-script:classpath:db/data.sql}") Resource dataScript) {
+        this.userRepository = userRepository;
+        this.itemRepository = itemRepository;
+        this.passwordEncoder = passwordEncoder;
+        this.itemCatalog = itemCatalog;
+        this.dataSource = dataSource;
+        this.dataScript = dataScript;
+    }
+
+    public void createDefaultUser() {
+        if (userRepository.existsByUsername(ADMIN)) {
+            return;
+        }
+        User user = new User();
+        user.setUsername(ADMIN);
+        user.setPassword(passwordEncoder.encode(PASSWORD));
+        user.setCart(new Cart());
+        userRepository.save(user);
+    }
+
+    public void seedCatalog() {
+        if (itemRepository.count() > 0) {
+            return;
+        }
+        new ResourceDatabasePopulator(dataScript).execute(dataSource);
+        // the script bypasses ItemCatalog
+        itemCatalog.invalidateAll();
+    }
+}
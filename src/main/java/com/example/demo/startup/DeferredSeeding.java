@@ -0,0 +1,43 @@
+package com.example.demo.startup;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Seeds on a background thread once the application is ready, instead of in a runner on the startup
+ * path. Requests that arrive before it finishes see an empty catalog.
+ */
+@Component
+@ConditionalOnProperty(name = "startup.deferred-seeding", havingValue = "true")
+public class DeferredSeeding implements ApplicationListener<ApplicationReadyEvent> {
+
+    private static final Logger log = LoggerFactory.getLogger(DeferredSeeding.class);
+
+    private final DataSeeder dataSeeder;
+
+    public DeferredSeeding(DataSeeder dataSeeder) {
+        this.dataSeeder = dataSeeder;
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationReadyEvent event) {
+        Thread seeding = new Thread(this::seed, "deferred-seeding");
+        seeding.setDaemon(true);
+        seeding.start();
+    }
+
+    private void seed() {
+        long start = System.nanoTime();
+        try {
+            dataSeeder.seedCatalog();
+            dataSeeder.createDefaultUser();
+            log.info("Deferred seeding finished in {} ms", (System.nanoTime() - start) / 1_000_000);
+        } catch (RuntimeException e) {
+            log.error("Deferred seeding failed", e);
+        }
+    }
+}
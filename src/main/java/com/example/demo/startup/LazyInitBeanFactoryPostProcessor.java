@@ -0,0 +1,32 @@
+package com.example.demo.startup;
+
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+
+import java.util.Set;
+
+/**
+ * Marks application bean definitions lazy so a bean is only created when something first needs it.
+ * Infrastructure beans and the beans named in {@code eagerBeans} keep their setting. Beans that the
+ * web server, the security filter chain or the metrics registry depend on are still created during
+ * startup; the gain is in everything that is only reached from a request.
+ */
+public class LazyInitBeanFactoryPostProcessor implements BeanFactoryPostProcessor {
+
+    private final Set<String> eagerBeans;
+
+    public LazyInitBeanFactoryPostProcessor(Set<String> eagerBeans) {
+        this.eagerBeans = eagerBeans;
+    }
+
+    @Override
+    public void postProcessBeanFactory(ConfigurableListableBeanFactory beanFactory) {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (definition.getRole() != BeanDefinition.ROLE_INFRASTRUCTURE && !eagerBeans.contains(name)) {
+                definition.setLazyInit(true);
+            }
+        }
+    }
+}
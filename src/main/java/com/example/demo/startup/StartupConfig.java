@@ -0,0 +1,20 @@
+package com.example.demo.startup;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+@Configuration
+public class StartupConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "startup.lazy-initialization", havingValue = "true")
+    public static LazyInitBeanFactoryPostProcessor lazyInitBeanFactoryPostProcessor(Environment environment) {
+        String[] eagerBeans = environment.getProperty("startup.lazy-initialization.eager-beans", String[].class, new String[0]);
+        return new LazyInitBeanFactoryPostProcessor(new HashSet<>(Arrays.asList(eagerBeans)));
+    }
+}
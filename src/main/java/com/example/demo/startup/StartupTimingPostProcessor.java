@@ -0,0 +1,63 @@
+package com.example.demo.startup;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.orm.jpa.AbstractEntityManagerFactoryBean;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Times the JPA bootstrap (building the {@code EntityManagerFactory}, including schema validation)
+ * and each {@link CommandLineRunner} and {@link ApplicationRunner}. Runners are wrapped in a proxy
+ * that keeps their interfaces and order.
+ */
+class StartupTimingPostProcessor implements BeanPostProcessor {
+
+    private final StartupTimings timings;
+    private final Map<String, Long> started = new ConcurrentHashMap<>();
+
+    StartupTimingPostProcessor(StartupTimings timings) {
+        this.timings = timings;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof AbstractEntityManagerFactoryBean) {
+            started.put(beanName, System.nanoTime());
+        }
+        return bean;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        // also called for the object a factory bean produces, which has no start entry
+        Long start = bean instanceof AbstractEntityManagerFactoryBean ? started.remove(beanName) : null;
+        if (start != null) {
+            timings.record("jpa bootstrap (" + beanName + ")", System.nanoTime() - start);
+        }
+        if (bean instanceof CommandLineRunner || bean instanceof ApplicationRunner) {
+            return timed(bean, "runner " + beanName);
+        }
+        return bean;
+    }
+
+    private Object timed(Object runner, String phase) {
+        ProxyFactory proxyFactory = new ProxyFactory(runner);
+        proxyFactory.addAdvice((MethodInterceptor) invocation -> {
+            if (!"run".equals(invocation.getMethod().getName())) {
+                return invocation.proceed();
+            }
+            long start = System.nanoTime();
+            try {
+                return invocation.proceed();
+            } finally {
+                timings.record(phase, System.nanoTime() - start);
+            }
+        });
+        return proxyFactory.getProxy();
+    }
+}
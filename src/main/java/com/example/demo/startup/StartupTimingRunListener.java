@@ -0,0 +1,94 @@
+package com.example.demo.startup;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.SpringApplicationRunListener;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.ConfigurableEnvironment;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Logs how long each startup phase took once the application is running, from JVM start to ready,
+ * and publishes the phases as {@code application.startup.phase} gauges. Registered in
+ * {@code META-INF/spring.factories}.
+ */
+public class StartupTimingRunListener implements SpringApplicationRunListener, Ordered {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupTimingRunListener.class);
+
+    private final StartupTimings timings = new StartupTimings();
+    private long startedAt;
+    private long phaseStart;
+
+    public StartupTimingRunListener(SpringApplication application, String[] args) {
+    }
+
+    @Override
+    public int getOrder() {
+        // after EventPublishingRunListener, so a refresh failure is reported with the phases so far
+        return 10;
+    }
+
+    @Override
+    public void starting() {
+        startedAt = System.nanoTime();
+        timings.record("jvm (until SpringApplication.run)", TimeUnit.MILLISECONDS.toNanos(ManagementFactory.getRuntimeMXBean().getUptime()));
+        phaseStart = startedAt;
+    }
+
+    @Override
+    public void environmentPrepared(ConfigurableEnvironment environment) {
+        endPhase("environment");
+    }
+
+    @Override
+    public void contextPrepared(ConfigurableApplicationContext context) {
+        context.getBeanFactory().registerSingleton("startupTimings", timings);
+        context.getBeanFactory().addBeanPostProcessor(new StartupTimingPostProcessor(timings));
+    }
+
+    @Override
+    public void contextLoaded(ConfigurableApplicationContext context) {
+        endPhase("context preparation");
+    }
+
+    @Override
+    public void started(ConfigurableApplicationContext context) {
+        endPhase("context refresh");
+    }
+
+    @Override
+    public void running(ConfigurableApplicationContext context) {
+        endPhase("runners");
+        timings.record("total (SpringApplication.run)", System.nanoTime() - startedAt);
+        log.info("Ready {} ms after JVM start. {}", ManagementFactory.getRuntimeMXBean().getUptime(), timings.report());
+        context.getBeanProvider(MeterRegistry.class).ifAvailable(this::publish);
+    }
+
+    @Override
+    public void failed(ConfigurableApplicationContext context, Throwable exception) {
+        endPhase("until failure");
+        log.warn("Startup failed. {}", timings.report());
+    }
+
+    private void endPhase(String name) {
+        long now = System.nanoTime();
+        timings.record(name, now - phaseStart);
+        phaseStart = now;
+    }
+
+    private void publish(MeterRegistry registry) {
+        // the phases are held by the startupTimings bean, so the gauges keep reporting them
+        for (StartupTimings.Phase phase : timings.phases()) {
+            TimeGauge.builder("application.startup.phase", phase, TimeUnit.NANOSECONDS, StartupTimings.Phase::getNanos)
+                    .tag("phase", phase.getName())
+                    .register(registry);
+        }
+    }
+}
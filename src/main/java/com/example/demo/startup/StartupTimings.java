@@ -0,0 +1,52 @@
+package com.example.demo.startup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named startup phases in the order they finished. Filled in by {@link StartupTimingRunListener} and
+ * {@link StartupTimingPostProcessor}.
+ */
+public class StartupTimings {
+
+    private final List<Phase> phases = new ArrayList<>();
+
+    public synchronized void record(String name, long nanos) {
+        phases.add(new Phase(name, nanos));
+    }
+
+    public synchronized List<Phase> phases() {
+        return new ArrayList<>(phases);
+    }
+
+    public String report() {
+        StringBuilder report = new StringBuilder("Startup phases:");
+        for (Phase phase : phases()) {
+            report.append(String.format("%n  %-40s %8d ms", phase.getName(), phase.getMillis()));
+        }
+        return report.toString();
+    }
+
+    public static final class Phase {
+        private final String name;
+        private final long nanos;
+
+        Phase(String name, long nanos) {
+            this.name = name;
+            this.nanos = nanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public long getNanos() {
+            return nanos;
+        }
+
+        public long getMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(nanos);
+        }
+    }
+}
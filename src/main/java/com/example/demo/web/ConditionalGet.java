@@ -0,0 +1,27 @@
+package com.example.demo.web;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a GET handler whose response can be validated with an ETag that is known before the handler
+ * runs. {@link ConditionalGetInterceptor} answers a matching {@code If-None-Match} with 304 without
+ * invoking the handler.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ConditionalGet {
+
+    Source value();
+
+    enum Source {
+        /** Anything derived from the item catalog; tagged with {@code ItemCatalog#version()}. */
+        CATALOG,
+        /** A single order; orders are immutable, so the {@code orderId} path variable identifies its content. */
+        ORDER
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.web;
+
+import com.example.demo.catalog.ItemCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class ConditionalGetConfig implements WebMvcConfigurer {
+
+    private final ItemCatalog itemCatalog;
+    private final MeterRegistry meterRegistry;
+
+    public ConditionalGetConfig(ItemCatalog itemCatalog, MeterRegistry meterRegistry) {
+        this.itemCatalog = itemCatalog;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ConditionalGetInterceptor(itemCatalog, meterRegistry));
+    }
+}
@@ -0,0 +1,146 @@
+package com.example.demo.web;
+
+import com.example.demo.catalog.ItemCatalog;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.DispatcherType;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumMap;
+import java.util.Enumeration;
+import java.util.Map;
+
+/**
+ * Answers a {@code If-None-Match} that matches the current tag of a {@link ConditionalGet} handler
+ * with 304 before the handler runs, so neither the repository nor Jackson is involved. Otherwise the
+ * tag, computed before the handler reads any data, is left in a request attribute for
+ * {@link ConditionalGetResponseAdvice}, which sets it only on successful responses: a 404 must not
+ * carry a tag that later validates the resource once it exists. The catalog version is per
+ * instance: behind a load balancer without sticky sessions, clients only see 304s from the instance
+ * that issued their tag.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+
+    static final String ETAG_ATTRIBUTE = ConditionalGetInterceptor.class.getName() + ".etag";
+
+    private final ItemCatalog itemCatalog;
+    private final Map<ConditionalGet.Source, Outcomes> outcomes = new EnumMap<>(ConditionalGet.Source.class);
+
+    public ConditionalGetInterceptor(ItemCatalog itemCatalog, MeterRegistry meterRegistry) {
+        this.itemCatalog = itemCatalog;
+        for (ConditionalGet.Source source : ConditionalGet.Source.values()) {
+            outcomes.put(source, new Outcomes(source, meterRegistry));
+        }
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // the async dispatch of a request that already passed through here
+        if (!(handler instanceof HandlerMethod) || request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true;
+        }
+        ConditionalGet conditionalGet = ((HandlerMethod) handler).getMethodAnnotation(ConditionalGet.class);
+        if (conditionalGet == null) {
+            return true;
+        }
+        String etag = etagFor(conditionalGet.value(), request);
+        if (etag == null) {
+            return true;
+        }
+        Outcomes counts = outcomes.get(conditionalGet.value());
+        if (matches(request, etag)) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, etag);
+            counts.notModified.increment();
+            return false;
+        }
+        request.setAttribute(ETAG_ATTRIBUTE, etag);
+        counts.full.increment();
+        return true;
+    }
+
+    private static boolean matches(HttpServletRequest request, String etag) {
+        Enumeration<String> headers = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String tag = candidate.trim();
+                // weak comparison, as If-None-Match requires
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(etag) || tag.equals("*")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private String etagFor(ConditionalGet.Source source, HttpServletRequest request) {
+        switch (source) {
+            case CATALOG:
+                return "\"items-" + itemCatalog.version() + "\"";
+            case ORDER:
+                Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+                if (!(variables instanceof Map)) {
+                    return null;
+                }
+                Object username = ((Map<?, ?>) variables).get("username");
+                Object orderId = ((Map<?, ?>) variables).get("orderId");
+                if (username == null || orderId == null) {
+                    return null;
+                }
+                // orders are immutable, but the same id under another user is another (missing) resource
+                return "\"order-" + encode(username.toString()) + "-" + encode(orderId.toString()) + "\"";
+            default:
+                return null;
+        }
+    }
+
+    private static String encode(String value) {
+        try {
+            // no quotes or other characters an entity tag may not contain
+            return URLEncoder.encode(value, StandardCharsets.UTF_8.name());
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static final class Outcomes {
+        private final Counter notModified;
+        private final Counter full;
+
+        Outcomes(ConditionalGet.Source source, MeterRegistry meterRegistry) {
+            String resource = source.name().toLowerCase();
+            this.notModified = Counter.builder("http.conditional.requests")
+                    .tag("resource", resource)
+                    .tag("result", "not_modified")
+                    .description("Requests answered with 304 before the handler ran")
+                    .register(meterRegistry);
+            this.full = Counter.builder("http.conditional.requests")
+                    .tag("resource", resource)
+                    .tag("result", "full")
+                    .description("Requests that had to be served in full")
+                    .register(meterRegistry);
+            Gauge.builder("http.conditional.hit.ratio", this, Outcomes::hitRatio)
+                    .tag("resource", resource)
+                    .description("Share of requests answered with 304 since startup")
+                    .register(meterRegistry);
+        }
+
+        double hitRatio() {
+            double hits = notModified.count();
+            double total = hits + full.count();
+            return total == 0 ? 0 : hits / total;
+        }
+    }
+}
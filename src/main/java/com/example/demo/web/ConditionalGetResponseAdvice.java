@@ -0,0 +1,45 @@
+package com.example.demo.web;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Sets the tag {@link ConditionalGetInterceptor} computed for the request, but only once the handler
+ * has produced a 2xx response. Runs for {@code ResponseEntity} results without a body too, and on
+ * the async dispatch of the async controllers.
+ */
+@ControllerAdvice
+public class ConditionalGetResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (!(request instanceof ServletServerHttpRequest) || !(response instanceof ServletServerHttpResponse)) {
+            return body;
+        }
+        Object etag = ((ServletServerHttpRequest) request).getServletRequest().getAttribute(ConditionalGetInterceptor.ETAG_ATTRIBUTE);
+        HttpServletResponse servletResponse = ((ServletServerHttpResponse) response).getServletResponse();
+        HttpStatus status = HttpStatus.resolve(servletResponse.getStatus());
+        if (etag != null && status != null && status.is2xxSuccessful()) {
+            servletResponse.setHeader(HttpHeaders.ETAG, etag.toString());
+        }
+        return body;
+    }
+}
@@ -0,0 +1,67 @@
+-- Schema for ddl-auto=validate (prod profile). Keep in sync with the entities in com.example.demo.model.persistence.
+-- Sequences step by the allocationSize of the pooled generators.
+create sequence if not exists item_seq start with 1 increment by 50;
+create sequence if not exists cart_seq start with 1 increment by 50;
+create sequence if not exists cart_line_seq start with 1 increment by 50;
+create sequence if not exists user_seq start with 1 increment by 50;
+create sequence if not exists user_order_seq start with 1 increment by 50;
+
+create table if not exists item (
+    id bigint not null,
+    name varchar(255) not null,
+    price decimal(19, 2) not null,
+    description varchar(255) not null,
+    primary key (id)
+);
+create index if not exists idx_item_name_id on item (name, id);
+create index if not exists idx_item_price_id on item (price, id);
+
+create table if not exists cart (
+    id bigint not null,
+    version bigint not null,
+    total_minor bigint not null,
+    primary key (id)
+);
+
+create table if not exists cart_line (
+    id bigint not null,
+    cart_id bigint not null,
+    item_id bigint not null,
+    quantity integer not null,
+    unit_price_minor bigint not null,
+    primary key (id),
+    constraint uk_cart_line_cart_item unique (cart_id, item_id),
+    constraint fk_cart_line_cart foreign key (cart_id) references cart (id),
+    constraint fk_cart_line_item foreign key (item_id) references item (id)
+);
+
+create table if not exists user (
+    id bigint not null,
+    username varchar(255) not null,
+    password varchar(255) not null,
+    cart_id bigint,
+    primary key (id),
+    constraint uk_user_username unique (username),
+    constraint fk_user_cart foreign key (cart_id) references cart (id)
+);
+
+-- order lines are snapshots: item_id has no foreign key so items can change or disappear
+create table if not exists user_order (
+    id bigint not null,
+    user_id bigint not null,
+    total_minor bigint,
+    item_count integer not null,
+    created_at timestamp not null,
+    primary key (id),
+    constraint fk_user_order_user foreign key (user_id) references user (id)
+);
+create index if not exists idx_user_order_user_created on user_order (user_id, created_at);
+
+create table if not exists user_order_line (
+    order_id bigint not null,
+    item_id bigint not null,
+    item_name varchar(255) not null,
+    quantity integer not null,
+    unit_price_minor bigint not null,
+    constraint fk_user_order_line_order foreign key (order_id) references user_order (id)
+);
@@ -0,0 +1,82 @@
+package com.example.demo.async;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+public class DbExecutorTest {
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private DbExecutor dbExecutor;
+
+    @After
+    public void tearDown() {
+        if (TransactionSynchronizationManager.hasResource(entityManagerFactory)) {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        }
+        dbExecutor.shutdown();
+    }
+
+    @Test
+    public void whenRequestHasEntityManager_thenItIsBoundForTheTaskOnly() throws Exception {
+        dbExecutor = new DbExecutor(entityManagerFactory, 1, 1, meterRegistry);
+        EntityManagerHolder holder = new EntityManagerHolder(mock(EntityManager.class));
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, holder);
+
+        Object bound = dbExecutor.supply(() -> TransactionSynchronizationManager.getResource(entityManagerFactory))
+                .get(5, TimeUnit.SECONDS);
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        // same single worker thread, now without a request EntityManager
+        Object leftOver = dbExecutor.supply(() -> TransactionSynchronizationManager.getResource(entityManagerFactory))
+                .get(5, TimeUnit.SECONDS);
+
+        assertSame(bound, holder);
+        assertNull(leftOver);
+        assertEquals(meterRegistry.get("executor.pool.size").tag("name", "db.executor").gauge().value(), 1.0, 0.0);
+    }
+
+    @Test(expected = DbExecutorUnavailableException.class)
+    public void whenPoolAndQueueAreFull_thenRequestIsRejected() throws InterruptedException {
+        dbExecutor = new DbExecutor(entityManagerFactory, 1, 1, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try {
+            // one task occupies the only thread, a second one waits in the only queue slot
+            dbExecutor.supply(() -> {
+                started.countDown();
+                return await(release);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            dbExecutor.supply(() -> true);
+
+            dbExecutor.supply(() -> true);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        try {
+            return latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.persistence.Cart;
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.User;
+
+import java.math.BigDecimal;
+
+/**
+ * Detached entities for benchmarks that do not need a database.
+ */
+public final class BenchmarkData {
+
+    private BenchmarkData() {
+    }
+
+    public static Item[] items(int count) {
+        Item[] items = new Item[count];
+        for (int i = 0; i < count; i++) {
+            Item item = new Item();
+            item.setId((long) i + 1);
+            item.setName("Item " + (i + 1));
+            item.setDescription("Description of item " + (i + 1));
+            item.setPrice(BigDecimal.valueOf(100 + i % 5000, 2));
+            items[i] = item;
+        }
+        return items;
+    }
+
+    public static Cart cart(Item[] items) {
+        User user = new User();
+        user.setId(1L);
+        user.setUsername("benchmark");
+        Cart cart = new Cart();
+        cart.setId(1L);
+        cart.setUser(user);
+        user.setCart(cart);
+        for (Item item : items) {
+            cart.addItem(item);
+        }
+        return cart;
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.demo.benchmark;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the {@code benchmark} Maven profile. Runs the selected JMH benchmarks and writes the
+ * results as JSON so they can be compared between releases.
+ * <p>
+ * System properties:
+ * <ul>
+ *     <li>{@code benchmark.include} - regex of benchmarks to run (default: all)</li>
+ *     <li>{@code benchmark.exclude} - regex of benchmarks to skip (default: the slow {@code ItemSearchBenchmark} and {@code ItemImportBenchmark})</li>
+ *     <li>{@code benchmark.result} - result file (default: {@code target/jmh-result.json})</li>
+ *     <li>{@code benchmark.profilers} - comma separated JMH profilers, e.g. {@code gc} for allocation rates (default: none)</li>
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("benchmark.include", ".*Benchmark.*"))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("benchmark.result", "target/jmh-result.json"));
+        String exclude = System.getProperty("benchmark.exclude", "ItemSearchBenchmark|ItemImportBenchmark");
+        if (!exclude.isEmpty()) {
+            options.exclude(exclude);
+        }
+        for (String profiler : System.getProperty("benchmark.profilers", "").split(",")) {
+            if (!profiler.trim().isEmpty()) {
+                options.addProfiler(profiler.trim());
+            }
+        }
+        new Runner(options.build()).run();
+    }
+}
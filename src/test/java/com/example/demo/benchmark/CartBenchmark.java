@@ -0,0 +1,63 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.persistence.Cart;
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.UserOrder;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Cart} mutations and {@link UserOrder#createFromCart} at growing cart sizes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CartBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    public int cartSize;
+
+    private Item[] items;
+    private Item newItem;
+    private Cart cart;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        Item[] all = BenchmarkData.items(cartSize + 1);
+        items = new Item[cartSize];
+        System.arraycopy(all, 0, items, 0, cartSize);
+        newItem = all[cartSize];
+        cart = BenchmarkData.cart(items);
+    }
+
+    @Benchmark
+    public Cart addExistingItem() {
+        Item item = nextItem();
+        cart.addItem(item);
+        cart.removeItem(item);
+        return cart;
+    }
+
+    @Benchmark
+    public Cart addAndRemoveNewItem() {
+        cart.addItem(newItem);
+        cart.removeItem(newItem);
+        return cart;
+    }
+
+    @Benchmark
+    public UserOrder createOrderFromCart() {
+        return UserOrder.createFromCart(cart);
+    }
+
+    private Item nextItem() {
+        Item item = items[next];
+        next = (next + 1) % items.length;
+        return item;
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.catalog.ItemCatalog;
+import com.example.demo.catalog.snapshot.CatalogSnapshot;
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * {@link ItemCatalog#findById} with the catalog snapshot open, against reading the snapshot alone.
+ * Run with the {@code gc} profiler (the default of the benchmark profile) and compare
+ * {@code gc.alloc.rate.norm}: cache hits return the cached instance, while every snapshot read
+ * materializes a new item.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CatalogLookupBenchmark {
+
+    @Param("10000")
+    public int itemCount;
+
+    private Path directory;
+    private CatalogSnapshot snapshot;
+    private ItemCatalog itemCatalog;
+    private long next;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ItemRepository repository = mock(ItemRepository.class);
+        Item[] items = BenchmarkData.items(itemCount);
+        when(repository.count()).thenReturn((long) itemCount);
+        when(repository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(Arrays.asList(items));
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        directory = Files.createTempDirectory("catalog-lookup-benchmark");
+        itemCatalog = new ItemCatalog(repository, itemCount, 3600);
+        snapshot = new CatalogSnapshot(itemCatalog, repository, mock(PlatformTransactionManager.class),
+                directory.resolve("catalog.snapshot").toString());
+        snapshot.open();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        snapshot.close();
+        Files.deleteIfExists(directory.resolve("catalog.snapshot"));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public Optional<Item> catalogFindById() {
+        return itemCatalog.findById(nextId());
+    }
+
+    @Benchmark
+    public Item snapshotFind() {
+        return snapshot.find(nextId());
+    }
+
+    private long nextId() {
+        next = next % itemCount + 1;
+        return next;
+    }
+}
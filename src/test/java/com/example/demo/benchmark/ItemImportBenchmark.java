@@ -0,0 +1,90 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.SareetaApplication;
+import com.example.demo.catalog.ItemImportFormat;
+import com.example.demo.catalog.ItemImporter;
+import com.example.demo.model.responses.ItemImportResult;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Imports a generated CSV catalog through {@link ItemImporter} into a fresh in-memory database. The
+ * input is produced on the fly, so the benchmark itself never holds the file in memory either.
+ * <p>
+ * It is excluded from the default benchmark run; run it with:
+ * <pre>
+ * mvn -P benchmark verify -Dbenchmark.include=ItemImportBenchmark -Dbenchmark.exclude=
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemImportBenchmark {
+
+    @Param("1000000")
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private ItemImporter importer;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        context = new SpringApplicationBuilder(SareetaApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:import-benchmark-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        importer = context.getBean(ItemImporter.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ItemImportResult importCsv() throws IOException {
+        ItemImportResult result = importer.importItems(new GeneratedCsv(itemCount), ItemImportFormat.CSV);
+        System.out.printf("%n%d imported, %d rejected, %.0f rows/s%n", result.getImported(), result.getRejected(), result.getRowsPerSecond());
+        return result;
+    }
+
+    private static final class GeneratedCsv extends Reader {
+        private final int rows;
+        private int row = -1;
+        private String current = "name,price,description\n";
+        private int position;
+
+        GeneratedCsv(int rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == current.length()) {
+                if (++row >= rows) {
+                    return -1;
+                }
+                current = "Generated item " + row + "," + (1 + row % 10_000) + ".99,\"Item number " + row + ", generated\"\n";
+                position = 0;
+            }
+            int count = Math.min(length, current.length() - position);
+            current.getChars(position, position + count, buffer, offset);
+            position += count;
+            return count;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
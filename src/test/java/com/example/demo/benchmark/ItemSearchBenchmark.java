@@ -0,0 +1,111 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.SareetaApplication;
+import com.example.demo.catalog.ItemSearchIndex;
+import com.example.demo.model.persistence.Item;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares {@link ItemSearchIndex} with the equivalent JPA {@code LIKE '%term%'} query over a large catalog.
+ * <p>
+ * It is excluded from the default benchmark run; run it with:
+ * <pre>
+ * mvn -P benchmark verify -Dbenchmark.include=ItemSearchBenchmark -Dbenchmark.exclude=
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ItemSearchBenchmark {
+
+    private static final int LIMIT = 20;
+    private static final int INSERT_BATCH_SIZE = 10_000;
+    private static final String[] ADJECTIVES = {"round", "square", "blue", "red", "heavy", "light", "smart", "rustic", "compact", "deluxe"};
+    private static final String[] NOUNS = {"widget", "gadget", "sprocket", "gizmo", "bracket", "valve", "lamp", "kettle", "cable", "socket"};
+    private static final String[] MATERIALS = {"steel", "oak", "plastic", "copper", "glass"};
+    private static final String[] QUERIES = {"widget", "rustic lamp", "spro", "copper kettle", "deluxe gizmo 4242"};
+
+    @Param("1000000")
+    public int itemCount;
+
+    private ConfigurableApplicationContext context;
+    private ItemSearchIndex index;
+    private EntityManagerFactory entityManagerFactory;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        context = new SpringApplicationBuilder(SareetaApplication.class)
+                .properties("server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:search-benchmark;DB_CLOSE_DELAY=-1",
+                        "logging.level.root=WARN")
+                .run();
+        insertItems(context.getBean(JdbcTemplate.class));
+        index = context.getBean(ItemSearchIndex.class);
+        index.rebuild();
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Item> invertedIndex() {
+        return index.search(nextQuery(), LIMIT);
+    }
+
+    @Benchmark
+    public List<Item> jpaLikeQuery() {
+        String pattern = "%" + nextQuery() + "%";
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager
+                    .createQuery("select i from Item i where lower(i.name) like :pattern or lower(i.description) like :pattern", Item.class)
+                    .setParameter("pattern", pattern)
+                    .setMaxResults(LIMIT)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    private String nextQuery() {
+        next = (next + 1) % QUERIES.length;
+        return QUERIES[next];
+    }
+
+    private void insertItems(JdbcTemplate jdbcTemplate) {
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH_SIZE);
+        for (int i = 0; i < itemCount; i++) {
+            String adjective = ADJECTIVES[i % ADJECTIVES.length];
+            String noun = NOUNS[(i / ADJECTIVES.length) % NOUNS.length];
+            String material = MATERIALS[i % MATERIALS.length];
+            batch.add(new Object[]{
+                    adjective + " " + noun + " " + i,
+                    BigDecimal.valueOf(100 + i % 10_000, 2),
+                    "A " + adjective + " " + noun + " made of " + material});
+            if (batch.size() == INSERT_BATCH_SIZE) {
+                jdbcTemplate.batchUpdate("insert into item (id, name, price, description) values (next value for item_seq, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate("insert into item (id, name, price, description) values (next value for item_seq, ?, ?, ?)", batch);
+        }
+    }
+}
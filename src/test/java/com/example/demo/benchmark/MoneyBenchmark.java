@@ -0,0 +1,58 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.persistence.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Summing a cart's worth of line totals with {@link BigDecimal} versus {@link Money}. Compare
+ * {@code gc.alloc.rate.norm} (bytes per operation) from the {@code gc} profiler, which the benchmark
+ * profile enables by default.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    @Param({"100", "10000"})
+    public int lineCount;
+
+    private BigDecimal[] decimalPrices;
+    private Money[] moneyPrices;
+    private int[] quantities;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        decimalPrices = new BigDecimal[lineCount];
+        moneyPrices = new Money[lineCount];
+        quantities = new int[lineCount];
+        for (int i = 0; i < lineCount; i++) {
+            decimalPrices[i] = BigDecimal.valueOf(100 + i % 5000, 2);
+            moneyPrices[i] = Money.of(decimalPrices[i]);
+            quantities[i] = 1 + i % 3;
+        }
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimalTotal() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < lineCount; i++) {
+            total = total.add(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+
+    @Benchmark
+    public Money moneyTotal() {
+        Money total = Money.ZERO;
+        for (int i = 0; i < lineCount; i++) {
+            total = total.plusTimes(moneyPrices[i], quantities[i]);
+        }
+        return total;
+    }
+}
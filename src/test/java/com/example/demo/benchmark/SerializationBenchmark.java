@@ -0,0 +1,47 @@
+package com.example.demo.benchmark;
+
+import com.example.demo.model.persistence.Cart;
+import com.example.demo.model.persistence.UserOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of {@link Cart} and {@link UserOrder} responses, configured like the
+ * application's message converter.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "1000"})
+    public int cartSize;
+
+    private ObjectMapper objectMapper;
+    private Cart cart;
+    private UserOrder order;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        cart = BenchmarkData.cart(BenchmarkData.items(cartSize));
+        order = UserOrder.createFromCart(cart);
+    }
+
+    @Benchmark
+    public byte[] serializeCart() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(cart);
+    }
+
+    @Benchmark
+    public byte[] serializeOrder() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(order);
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.cache;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class BoundedCacheTest {
+
+    private final AtomicLong time = new AtomicLong();
+    private BoundedCache<String, String> cache;
+
+    @Before
+    public void setup() {
+        cache = new BoundedCache<>(2, 10, TimeUnit.SECONDS, time::get);
+    }
+
+    @Test
+    public void whenValueIsLoaded_thenLaterLookupsAreHits() {
+        assertEquals(cache.get("a", key -> "A"), "A");
+        assertEquals(cache.get("a", key -> "other"), "A");
+
+        assertEquals(cache.missCount(), 1);
+        assertEquals(cache.hitCount(), 1);
+    }
+
+    @Test
+    public void whenCacheIsFull_thenLeastRecentlyUsedEntryIsEvicted() {
+        cache.put("a", "A");
+        cache.put("b", "B");
+        cache.getIfPresent("a");
+        cache.put("c", "C");
+
+        assertEquals(cache.getIfPresent("a"), "A");
+        assertNull(cache.getIfPresent("b"));
+        assertEquals(cache.size(), 2);
+        assertEquals(cache.evictionCount(), 1);
+    }
+
+    @Test
+    public void whenTtlHasPassed_thenEntryExpires() {
+        cache.put("a", "A");
+        time.addAndGet(TimeUnit.SECONDS.toNanos(10));
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(cache.expirationCount(), 1);
+    }
+
+    @Test
+    public void whenEntryHasOwnTtl_thenItExpiresIndependently() {
+        cache.put("a", "A", 1, TimeUnit.SECONDS);
+        cache.put("b", "B");
+        time.addAndGet(TimeUnit.SECONDS.toNanos(2));
+
+        assertNull(cache.getIfPresent("a"));
+        assertEquals(cache.getIfPresent("b"), "B");
+    }
+
+    @Test
+    public void whenInvalidatedDuringLoad_thenLoadedValueIsNotCached() {
+        String loaded = cache.get("a", key -> {
+            cache.invalidate(key);
+            return "stale";
+        });
+
+        assertEquals(loaded, "stale");
+        assertNull(cache.getIfPresent("a"));
+    }
+
+    @Test
+    public void whenSomeKeysAreCached_thenOnlyMissesAreLoaded() {
+        cache.put("a", "A");
+        Set<String> requested = new HashSet<>();
+
+        Map<String, String> values = cache.getAll(Arrays.asList("a", "b", "c"), keys -> {
+            requested.addAll(keys);
+            return Collections.singletonMap("b", "B");
+        });
+
+        assertEquals(requested, new HashSet<>(Arrays.asList("b", "c")));
+        assertEquals(values.size(), 2);
+        assertEquals(values.get("a"), "A");
+        assertEquals(cache.getIfPresent("b"), "B");
+    }
+}
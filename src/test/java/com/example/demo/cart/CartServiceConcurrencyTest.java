@@ -0,0 +1,187 @@
+package com.example.demo.cart;
+
+import com.example.demo.catalog.ItemCatalog;
+import com.example.demo.model.persistence.Cart;
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.Money;
+import com.example.demo.model.persistence.User;
+import com.example.demo.model.persistence.repositories.UserRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Hammers carts from many threads and checks that no update was lost: every cart must end up with
+ * exactly as many units as were added to it and a total that matches. Throughput is logged, so runs
+ * can be compared.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest
+public class CartServiceConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(CartServiceConcurrencyTest.class);
+
+    private static final int USERS = 4;
+    private static final int MANY_USERS = 64;
+    private static final int THREADS = 16;
+    private static final int UPDATES_PER_THREAD = 200;
+
+    @Autowired
+    private CartService cartService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${cart.lock.stripes:1024}")
+    private int stripes;
+
+    @Test
+    public void whenSameCartsAreUpdatedConcurrently_thenNoUpdateIsLost() throws Exception {
+        List<String> usernames = createUsers(USERS);
+        Item item = itemCatalog.findAll().get(0);
+        AtomicIntegerArray added = new AtomicIntegerArray(USERS);
+
+        long elapsed = updateConcurrently(usernames, item, added);
+
+        logThroughput("same carts", usernames.size(), elapsed);
+        assertCarts(usernames, item, added);
+    }
+
+    @Test
+    public void whenManyUsersUpdateConcurrently_thenTheyDoNotWaitForEachOther() throws Exception {
+        Item item = itemCatalog.findAll().get(0);
+        String blocked = createUsers(1).get(0);
+        // the service stripes its locks the same way, so these users share no lock with the blocked one
+        StripedLock locks = new StripedLock(stripes);
+        Lock blockedLock = locks.get(blocked);
+        List<String> usernames = createUsers(MANY_USERS).stream()
+                .filter(username -> locks.get(username) != blockedLock)
+                .collect(Collectors.toList());
+        AtomicIntegerArray added = new AtomicIntegerArray(usernames.size());
+
+        CountDownLatch holding = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService blocker = Executors.newSingleThreadExecutor();
+        Future<?> blockedUpdate = blocker.submit(() -> cartService.update(blocked, cart -> {
+            holding.countDown();
+            try {
+                release.await(2, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            cart.addItem(item);
+        }));
+        long elapsed;
+        try {
+            assertTrue(holding.await(10, TimeUnit.SECONDS));
+
+            // would time out if the other users queued behind the held lock
+            elapsed = updateConcurrently(usernames, item, added);
+            assertFalse(blockedUpdate.isDone());
+        } finally {
+            release.countDown();
+            blocker.shutdown();
+        }
+        blockedUpdate.get(10, TimeUnit.SECONDS);
+
+        logThroughput("distinct carts", usernames.size(), elapsed);
+        assertCarts(usernames, item, added);
+        assertCarts(Collections.singletonList(blocked), item, new AtomicIntegerArray(new int[]{1}));
+    }
+
+    /**
+     * Adds {@code item} {@code THREADS * UPDATES_PER_THREAD} times, spread round-robin over the carts
+     * of {@code usernames}, counting additions per user in {@code added}.
+     *
+     * @return the elapsed nanoseconds
+     */
+    private long updateConcurrently(List<String> usernames, Item item, AtomicIntegerArray added) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                results.add(pool.submit(() -> {
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        int user = (thread + i) % usernames.size();
+                        assertTrue(cartService.update(usernames.get(user), cart -> cart.addItem(item)).isPresent());
+                        added.incrementAndGet(user);
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+            return System.nanoTime() - start;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void logThroughput(String scenario, int carts, long elapsedNanos) {
+        int updates = THREADS * UPDATES_PER_THREAD;
+        log.info("{}: {} cart updates on {} carts from {} threads in {} ms ({} updates/s)", scenario, updates, carts,
+                THREADS, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), Math.round(updates / (elapsedNanos / 1e9)));
+    }
+
+    private void assertCarts(List<String> usernames, Item item, AtomicIntegerArray added) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Money price = Money.of(item.getPrice());
+        for (int user = 0; user < usernames.size(); user++) {
+            String username = usernames.get(user);
+            int expected = added.get(user);
+            transactionTemplate.execute(status -> {
+                Cart cart = userRepository.findWithCartByUsername(username).getCart();
+                assertEquals(cart.getItemCount(), expected);
+                assertEquals(cart.getTotalMoney(), price.times(expected));
+                return null;
+            });
+        }
+    }
+
+    private List<String> createUsers(int count) {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername("concurrency-" + UUID.randomUUID());
+            user.setPassword("unused");
+            Cart cart = new Cart();
+            cart.setUser(user);
+            user.setCart(cart);
+            userRepository.save(user);
+            usernames.add(user.getUsername());
+        }
+        return usernames;
+    }
+}
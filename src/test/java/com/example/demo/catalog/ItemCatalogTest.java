@@ -0,0 +1,123 @@
+package com.example.demo.catalog;
+
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import org.assertj.core.util.Lists;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ItemCatalogTest {
+
+    private ItemCatalog itemCatalog;
+    private ItemRepository repository = mock(ItemRepository.class);
+    private Item item = getItem(1L, "test_item");
+
+    @Before
+    public void setup() {
+        itemCatalog = new ItemCatalog(repository, 100, 60);
+
+        when(repository.findById(1L)).thenReturn(Optional.of(item));
+        when(repository.findAll()).thenReturn(Lists.list(item));
+        when(repository.save(item)).thenReturn(item);
+    }
+
+    @Test
+    public void whenItemIsReadTwice_thenRepositoryIsQueriedOnce() {
+        assertTrue(itemCatalog.findById(1L).isPresent());
+        assertTrue(itemCatalog.findById(1L).isPresent());
+
+        verify(repository, times(1)).findById(1L);
+    }
+
+    @Test
+    public void whenItemsAreReadInBulk_thenOnlyUncachedIdsAreQueried() {
+        Item other = getItem(2L, "other_item");
+        Set<Long> uncached = new HashSet<>(Arrays.asList(2L, 3L));
+        when(repository.findAllById(uncached)).thenReturn(Lists.list(other));
+        itemCatalog.findById(1L);
+
+        Map<Long, Item> items = itemCatalog.findAllById(Arrays.asList(1L, 2L, 3L));
+
+        assertEquals(items.size(), 2);
+        assertEquals(items.get(2L), other);
+        verify(repository, times(1)).findAllById(uncached);
+    }
+
+    @Test
+    public void whenListingIsReadTwice_thenRepositoryIsQueriedOnce() {
+        assertEquals(itemCatalog.findAll().size(), 1);
+        assertEquals(itemCatalog.findAll().size(), 1);
+
+        verify(repository, times(1)).findAll();
+    }
+
+    @Test
+    public void whenItemIsSaved_thenCachedEntriesAreReloaded() {
+        itemCatalog.findById(1L);
+        itemCatalog.findAll();
+
+        itemCatalog.save(item);
+        itemCatalog.findById(1L);
+        itemCatalog.findAll();
+
+        verify(repository, times(2)).findById(1L);
+        verify(repository, times(2)).findAll();
+    }
+
+    @Test
+    public void whenItemIsSaved_thenVersionChanges() {
+        long before = itemCatalog.version();
+        itemCatalog.findAll();
+        assertEquals(itemCatalog.version(), before);
+
+        itemCatalog.save(item);
+        assertTrue(itemCatalog.version() != before);
+    }
+
+    @Test
+    public void whenCatalogIsInvalidated_thenListenersCatchUpBeforeVersionChanges() {
+        long before = itemCatalog.version();
+        List<Long> versionsSeen = new ArrayList<>();
+        itemCatalog.addChangeListener(new ItemChangeListener() {
+            @Override
+            public void itemSaved(Item item) {
+            }
+
+            @Override
+            public void itemDeleted(Long id) {
+            }
+
+            @Override
+            public void catalogChanged() {
+                versionsSeen.add(itemCatalog.version());
+            }
+        });
+
+        itemCatalog.invalidateAll();
+
+        assertEquals(versionsSeen, Lists.list(before));
+        assertTrue(itemCatalog.version() != before);
+    }
+
+    private static Item getItem(long id, String name) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        return item;
+    }
+}
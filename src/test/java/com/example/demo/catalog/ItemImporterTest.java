@@ -0,0 +1,142 @@
+package com.example.demo.catalog;
+
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.model.responses.ItemImportResult;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.util.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.persistence.EntityManager;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ItemImporterTest {
+
+    private ItemRepository repository = mock(ItemRepository.class);
+    private EntityManager entityManager = mock(EntityManager.class);
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private List<Item> saved = new ArrayList<>();
+    private ItemImporter importer;
+
+    @Before
+    public void setup() {
+        ItemCatalog itemCatalog = new ItemCatalog(repository, 100, 60);
+        importer = new ItemImporter(repository, itemCatalog, mock(PlatformTransactionManager.class),
+                entityManager, new ObjectMapper(), meterRegistry, 2);
+
+        when(repository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Item> batch = invocation.getArgument(0);
+            saved.addAll(batch);
+            return batch;
+        });
+    }
+
+    @Test
+    public void whenCsvIsImported_thenItemsAreWrittenInBatches() throws IOException {
+        String csv = "description,name,price\r\n"
+                + "\"A widget, round\",Round Widget,2.99\r\n"
+                + "\"Says \"\"hi\"\"\",Talking Widget,1.50\r\n"
+                + "plain,Square Widget,1\r\n";
+
+        ItemImportResult result = importer.importItems(new StringReader(csv), ItemImportFormat.CSV);
+
+        assertEquals(result.getImported(), 3);
+        assertEquals(result.getRejected(), 0);
+        verify(repository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).clear();
+        assertEquals(saved.get(0).getName(), "Round Widget");
+        assertEquals(saved.get(0).getDescription(), "A widget, round");
+        assertEquals(saved.get(1).getDescription(), "Says \"hi\"");
+        assertEquals(saved.get(2).getPrice(), new BigDecimal("1"));
+    }
+
+    @Test
+    public void whenRowsAreInvalid_thenTheyAreRejectedAndReported() throws IOException {
+        String csv = "name,price,description\n"
+                + ",1.00,no name\n"
+                + "Cheap,abc,bad price\n"
+                + "Precise,1.001,too many decimals\n"
+                + "Short,1.00\n"
+                + "Good,3.00,fine\n";
+
+        ItemImportResult result = importer.importItems(new StringReader(csv), ItemImportFormat.CSV);
+
+        assertEquals(result.getImported(), 1);
+        assertEquals(result.getRejected(), 4);
+        assertEquals(result.getErrors().size(), 4);
+        assertTrue(result.getErrors().get(0), result.getErrors().get(0).startsWith("row 2:"));
+        assertEquals(meterRegistry.get("catalog.import.rows").tag("outcome", "rejected").counter().count(), 4.0, 0.0);
+    }
+
+    @Test
+    public void whenNdjsonIsImported_thenEachLineIsOneItem() throws IOException {
+        String ndjson = "{\"name\":\"Round Widget\",\"price\":2.99,\"description\":\"round\"}\n"
+                + "\n"
+                + "{\"name\":\"Broken\"\n"
+                + "{\"name\":\"Square Widget\",\"price\":\"1.99\",\"description\":\"square\"}\n";
+
+        ItemImportResult result = importer.importItems(new StringReader(ndjson), ItemImportFormat.NDJSON);
+
+        assertEquals(result.getImported(), 2);
+        assertEquals(result.getRejected(), 1);
+        assertEquals(saved.get(0).getPrice(), new BigDecimal("2.99"));
+        assertEquals(result.getErrors().get(0), "row 3: malformed JSON");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenCsvHeaderLacksColumn_thenImportIsRefused() throws IOException {
+        importer.importItems(new StringReader("name,description\nA,B\n"), ItemImportFormat.CSV);
+    }
+
+    @Test
+    public void whenItemsAreImported_thenCatalogVersionChanges() throws IOException {
+        ItemCatalog itemCatalog = new ItemCatalog(repository, 100, 60);
+        ItemImporter catalogImporter = new ItemImporter(repository, itemCatalog, mock(PlatformTransactionManager.class),
+                entityManager, new ObjectMapper(), meterRegistry, 2);
+        long before = itemCatalog.version();
+
+        catalogImporter.importItems(new StringReader("name,price,description\nA,1.00,B\n"), ItemImportFormat.CSV);
+
+        assertTrue(itemCatalog.version() != before);
+    }
+
+    @Test
+    public void whenItemsAreImported_thenSearchIndexIsRebuilt() throws IOException {
+        ItemCatalog itemCatalog = new ItemCatalog(repository, 100, 60);
+        ItemSearchIndex itemSearchIndex = new ItemSearchIndex(itemCatalog, repository, mock(PlatformTransactionManager.class));
+        ItemImporter indexingImporter = new ItemImporter(repository, itemCatalog, mock(PlatformTransactionManager.class),
+                entityManager, new ObjectMapper(), meterRegistry, 2);
+        Item imported = new Item();
+        imported.setId(1L);
+        imported.setName("Round Widget");
+        imported.setPrice(new BigDecimal("2.99"));
+        imported.setDescription("round");
+        when(repository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(Lists.list(imported));
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        indexingImporter.importItems(new StringReader("name,price,description\nRound Widget,2.99,round\n"), ItemImportFormat.CSV);
+
+        assertEquals(itemSearchIndex.search("widget", 10), Lists.list(imported));
+    }
+}
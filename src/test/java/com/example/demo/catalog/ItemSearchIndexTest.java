@@ -0,0 +1,133 @@
+package com.example.demo.catalog;
+
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import org.assertj.core.util.Lists;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ItemSearchIndexTest {
+
+    private ItemSearchIndex index;
+    private ItemRepository repository = mock(ItemRepository.class);
+
+    @Before
+    public void setup() {
+        ItemCatalog itemCatalog = new ItemCatalog(repository, 100, 60);
+        index = new ItemSearchIndex(itemCatalog, repository, mock(PlatformTransactionManager.class));
+
+        index.itemSaved(getItem(1L, "Round Widget", "A widget that is round"));
+        index.itemSaved(getItem(2L, "Square Widget", "A widget that is square"));
+        index.itemSaved(getItem(3L, "Gadget", "Pairs well with a round widget"));
+    }
+
+    @Test
+    public void whenSearchByPrefix_thenAllMatchingItemsAreReturned() {
+        List<Item> items = index.search("wid", 10);
+
+        assertEquals(items.size(), 3);
+    }
+
+    @Test
+    public void whenSearchWithSeveralTokens_thenOnlyItemsMatchingAllTokensAreReturned() {
+        List<Item> items = index.search("round widget", 10);
+
+        assertEquals(items.size(), 2);
+        // a name match ranks above a description-only match
+        assertEquals(items.get(0).getId().longValue(), 1L);
+        assertEquals(items.get(1).getId().longValue(), 3L);
+    }
+
+    @Test
+    public void whenSearchIsLimited_thenBestMatchesAreReturned() {
+        List<Item> items = index.search("widget", 1);
+
+        assertEquals(items.size(), 1);
+        assertEquals(items.get(0).getId().longValue(), 1L);
+    }
+
+    @Test
+    public void whenItemIsRenamed_thenOldTermsNoLongerMatch() {
+        index.itemSaved(getItem(2L, "Cube", "A cube"));
+
+        assertTrue(index.search("square", 10).isEmpty());
+        assertEquals(index.search("cub", 10).size(), 1);
+    }
+
+    @Test
+    public void whenItemIsDeleted_thenItIsNoLongerReturned() {
+        index.itemDeleted(3L);
+
+        assertTrue(index.search("gadget", 10).isEmpty());
+        assertEquals(index.size(), 2);
+    }
+
+    @Test
+    public void whenItemIsSavedThroughCatalog_thenIndexIsUpdated() {
+        Item item = getItem(4L, "Oval Widget", "A widget that is oval");
+        when(repository.save(item)).thenReturn(item);
+        ItemCatalog itemCatalog = new ItemCatalog(repository, 100, 60);
+        ItemSearchIndex catalogIndex = new ItemSearchIndex(itemCatalog, repository, mock(PlatformTransactionManager.class));
+
+        itemCatalog.save(item);
+
+        assertEquals(catalogIndex.search("oval", 10).size(), 1);
+    }
+
+    @Test
+    public void whenIndexIsRebuilding_thenSearchesAreAnsweredFromThePreviousIndex() throws Exception {
+        CountDownLatch reading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(repository.findAllByOrderByIdAsc(any(Pageable.class))).thenAnswer(invocation -> {
+            reading.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return Lists.list(getItem(5L, "Oval Widget", "A widget that is oval"));
+        });
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenReturn(Collections.emptyList());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> rebuild = executor.submit(index::rebuild);
+            assertTrue(reading.await(10, TimeUnit.SECONDS));
+
+            assertEquals(index.search("wid", 10).size(), 3);
+            // changes made meanwhile are carried over to the new index
+            index.itemSaved(getItem(6L, "Cube", "A cube"));
+
+            release.countDown();
+            rebuild.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(index.search("wid", 10).size(), 1);
+        assertEquals(index.search("cube", 10).size(), 1);
+        assertEquals(index.size(), 2);
+    }
+
+    private static Item getItem(long id, String name, String description) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setDescription(description);
+        item.setPrice(BigDecimal.ONE);
+        return item;
+    }
+}
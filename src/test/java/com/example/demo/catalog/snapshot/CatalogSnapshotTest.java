@@ -0,0 +1,207 @@
+package com.example.demo.catalog.snapshot;
+
+import com.example.demo.catalog.ItemCatalog;
+import com.example.demo.model.persistence.Item;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import org.assertj.core.util.Lists;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CatalogSnapshotTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private ItemRepository repository = mock(ItemRepository.class);
+    private ItemCatalog itemCatalog = new ItemCatalog(repository, 100, 60);
+    private Item item = getItem(1L, "test_item", "9.99");
+    private Path path;
+    private CatalogSnapshot snapshot;
+
+    @Before
+    public void setup() throws IOException {
+        path = folder.getRoot().toPath().resolve("catalog.snapshot");
+        when(repository.count()).thenReturn(1L);
+        when(repository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(Lists.list(item));
+        when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Pageable.class))).thenReturn(Collections.emptyList());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (snapshot != null) {
+            snapshot.close();
+        }
+    }
+
+    @Test
+    public void whenSnapshotIsOpen_thenItemsAreReadWithoutTheRepository() {
+        openSnapshot();
+
+        Item found = itemCatalog.findById(1L).get();
+
+        assertEquals(found.getName(), "test_item");
+        assertEquals(found.getPrice(), new BigDecimal("9.99"));
+        assertEquals(found.getDescription(), "test_item description");
+        verify(repository, never()).findById(1L);
+    }
+
+    @Test
+    public void whenItemIsReadAgain_thenTheCachedInstanceIsReturned() {
+        openSnapshot();
+
+        Item first = itemCatalog.findById(1L).get();
+
+        assertSame(itemCatalog.findById(1L).get(), first);
+        assertSame(itemCatalog.findAllById(Lists.list(1L)).get(1L), first);
+    }
+
+    @Test
+    public void whenItemIsSavedOrDeleted_thenSnapshotFollows() {
+        openSnapshot();
+        Item changed = getItem(1L, "changed_item", "1.50");
+        when(repository.save(changed)).thenReturn(changed);
+
+        itemCatalog.save(changed);
+        assertEquals(snapshot.find(1L).getName(), "changed_item");
+        assertEquals(snapshot.find(1L).getPrice(), new BigDecimal("1.50"));
+
+        itemCatalog.delete(1L);
+        assertNull(snapshot.find(1L));
+    }
+
+    @Test
+    public void whenItemIsNotInSnapshot_thenRepositoryIsQueried() {
+        openSnapshot();
+        Item other = getItem(2L, "other_item", "2.00");
+        when(repository.findById(2L)).thenReturn(Optional.of(other));
+
+        assertEquals(itemCatalog.findById(2L).get(), other);
+        assertEquals(itemCatalog.findAllById(Lists.list(1L, 2L)).size(), 2);
+    }
+
+    @Test
+    public void whenSnapshotMatchesRepository_thenItIsReusedOnRestart() throws IOException {
+        openSnapshot();
+        snapshot.close();
+
+        openSnapshot();
+
+        assertEquals(snapshot.find(1L).getName(), "test_item");
+        // only the first run sized a new file
+        verify(repository, times(1)).count();
+    }
+
+    @Test
+    public void whenRepositoryChangedSinceLastRun_thenSnapshotIsRewritten() throws IOException {
+        openSnapshot();
+        snapshot.close();
+        when(repository.count()).thenReturn(0L);
+        when(repository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(Collections.emptyList());
+
+        openSnapshot();
+
+        assertNull(snapshot.find(1L));
+    }
+
+    @Test
+    public void whenItemChangedOutsideTheCatalogSinceLastRun_thenSnapshotIsRewritten() throws IOException {
+        openSnapshot();
+        snapshot.close();
+        when(repository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(Lists.list(getItem(1L, "test_item", "1.50")));
+
+        openSnapshot();
+
+        assertEquals(snapshot.find(1L).getPrice(), new BigDecimal("1.50"));
+    }
+
+    @Test
+    public void whenCatalogChangesInBulk_thenSnapshotIsRewritten() {
+        openSnapshot();
+        Item imported = getItem(2L, "imported_item", "3.00");
+        when(repository.count()).thenReturn(2L);
+        when(repository.findAllByOrderByIdAsc(any(Pageable.class))).thenReturn(Lists.list(getItem(1L, "test_item", "1.50"), imported));
+
+        itemCatalog.invalidateAll();
+
+        assertEquals(snapshot.find(1L).getPrice(), new BigDecimal("1.50"));
+        assertEquals(itemCatalog.findById(2L).get().getName(), "imported_item");
+        verify(repository, never()).findById(2L);
+    }
+
+    @Test
+    public void whenFileOutgrowsItsMapping_thenAllItemsRemainReadable() throws IOException {
+        try (SnapshotFile file = SnapshotFile.create(path, 1)) {
+            for (long id = 1; id <= 50_000; id++) {
+                assertTrue(file.append(getItem(id, "item " + id, "1.00")));
+            }
+        }
+        try (SnapshotFile file = SnapshotFile.open(path)) {
+            ItemView view = new ItemView();
+            assertEquals(file.size(), 50_000);
+            assertTrue(file.read(12_345L, view));
+            assertEquals(view.getName(), "item 12345");
+        }
+    }
+
+    @Test
+    public void whenFileIsCompacted_thenOnlyCurrentRecordsAreCopied() throws IOException {
+        try (SnapshotFile file = SnapshotFile.create(path, 10);
+             SnapshotFile compacted = SnapshotFile.create(folder.getRoot().toPath().resolve("compacted"), 10)) {
+            for (int version = 0; version < 10; version++) {
+                file.append(getItem(1L, "version " + version, "1.00"));
+            }
+            file.append(getItem(2L, "deleted", "1.00"));
+            file.delete(2L);
+
+            file.copyLiveRecordsTo(compacted);
+
+            ItemView view = new ItemView();
+            assertTrue(file.garbageBytes() > 0);
+            assertEquals(compacted.garbageBytes(), 0);
+            assertEquals(compacted.size(), 1);
+            assertTrue(compacted.read(1L, view));
+            assertEquals(view.getName(), "version 9");
+            assertFalse(compacted.read(2L, view));
+            assertEquals(compacted.fingerprint(), file.fingerprint());
+            assertEquals(compacted.fingerprint(), SnapshotFile.fingerprint(getItem(1L, "version 9", "1.00")));
+        }
+    }
+
+    private void openSnapshot() {
+        snapshot = new CatalogSnapshot(itemCatalog, repository, mock(PlatformTransactionManager.class), path.toString());
+        snapshot.open();
+    }
+
+    private static Item getItem(Long id, String name, String price) {
+        Item item = new Item();
+        item.setId(id);
+        item.setName(name);
+        item.setPrice(new BigDecimal(price));
+        item.setDescription(name + " description");
+        return item;
+    }
+}
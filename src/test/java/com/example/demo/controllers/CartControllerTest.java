@@ -1,29 +1,41 @@
 package com.example.demo.controllers;
 
+import com.example.demo.cart.CartService;
+import com.example.demo.catalog.ItemCatalog;
 import com.example.demo.model.persistence.Cart;
 import com.example.demo.model.persistence.Item;
 import com.example.demo.model.persistence.User;
 import com.example.demo.model.persistence.repositories.CartRepository;
 import com.example.demo.model.persistence.repositories.ItemRepository;
 import com.example.demo.model.persistence.repositories.UserRepository;
+import com.example.demo.model.requests.CartOperation;
+import com.example.demo.model.requests.ModifyCartBatchRequest;
 import com.example.demo.model.requests.ModifyCartRequest;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class CartControllerTest {
 
     private static final String USERNAME = "username";
     private static final long ITEM_ID = 1L;
+    private static final long OTHER_ITEM_ID = 2L;
     private static final int QUANTITY = 2;
     private static final String PRICE = "21.45";
 
@@ -34,9 +46,10 @@ public class CartControllerTest {
 
     @Before
     public void setup() {
-        cartController = new CartController(userRepository, cartRepository, itemRepository);
+        CartService cartService = new CartService(userRepository, cartRepository, mock(PlatformTransactionManager.class), 16);
+        cartController = new CartController(cartService, new ItemCatalog(itemRepository, 100, 60));
 
-        when(userRepository.findByUsername(USERNAME)).thenReturn(getUser());
+        when(userRepository.findWithCartByUsername(USERNAME)).thenReturn(getUser());
         when(itemRepository.findById(ITEM_ID)).thenReturn(getItem());
     }
 
@@ -56,7 +69,9 @@ public class CartControllerTest {
         assertEquals(response.getStatusCodeValue(), HttpStatus.OK.value());
         assertNotNull(cart);
         assertEquals(cart.getUser().getUsername(), USERNAME);
-        assertEquals(cart.getItems().size(), expectedQuantity);
+        assertEquals(cart.getLines().size(), 1);
+        assertEquals(cart.getLines().get(0).getQuantity(), expectedQuantity);
+        assertEquals(cart.getItemCount(), expectedQuantity);
         assertEquals(cart.getTotal(), expectedTotal);
     }
 
@@ -95,7 +110,8 @@ public class CartControllerTest {
         assertEquals(response.getStatusCodeValue(), HttpStatus.OK.value());
         assertNotNull(cart);
         assertEquals(cart.getUser().getUsername(), USERNAME);
-        assertEquals(cart.getItems().size(), 0);
+        assertEquals(cart.getLines().size(), 0);
+        assertEquals(cart.getItemCount(), 0);
         assertEquals(cart.getTotal().intValue(), 0);
     }
 
@@ -121,6 +137,64 @@ public class CartControllerTest {
         assertEquals(response.getStatusCodeValue(), HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    public void whenBatchModifiesCart_thenAllOperationsAreAppliedWithOneItemQuery() {
+        Item other = new Item();
+        other.setId(OTHER_ITEM_ID);
+        other.setPrice(new BigDecimal(PRICE));
+        when(itemRepository.findAllById(any())).thenReturn(Arrays.asList(getItem().get(), other));
+
+        ModifyCartBatchRequest request = new ModifyCartBatchRequest();
+        request.setUsername(USERNAME);
+        request.setOperations(Arrays.asList(
+                getOperation(CartOperation.Type.ADD, OTHER_ITEM_ID, QUANTITY),
+                getOperation(CartOperation.Type.REMOVE, ITEM_ID, 1),
+                getOperation(CartOperation.Type.ADD, OTHER_ITEM_ID, 1)));
+
+        ResponseEntity<Cart> response = cartController.modifyCart(request);
+        Cart cart = response.getBody();
+
+        assertEquals(response.getStatusCodeValue(), HttpStatus.OK.value());
+        assertNotNull(cart);
+        assertEquals(cart.getLines().size(), 1);
+        assertEquals(cart.getItemCount(), QUANTITY + 1);
+        verify(itemRepository, times(1)).findAllById(any());
+        verify(cartRepository, times(1)).save(cart);
+    }
+
+    @Test
+    public void whenBatchContainsInvalidItem_thenCartIsNotChanged() {
+        when(itemRepository.findAllById(any())).thenReturn(Collections.singletonList(getItem().get()));
+
+        ModifyCartBatchRequest request = new ModifyCartBatchRequest();
+        request.setUsername(USERNAME);
+        request.setOperations(Arrays.asList(
+                getOperation(CartOperation.Type.REMOVE, ITEM_ID, 1),
+                getOperation(CartOperation.Type.ADD, 0L, 1)));
+
+        ResponseEntity<Cart> response = cartController.modifyCart(request);
+        assertEquals(response.getStatusCodeValue(), HttpStatus.NOT_FOUND.value());
+        verify(cartRepository, never()).save(any());
+    }
+
+    @Test
+    public void whenBatchIsEmpty_thenBadRequestIsReturned() {
+        ModifyCartBatchRequest request = new ModifyCartBatchRequest();
+        request.setUsername(USERNAME);
+        request.setOperations(Collections.emptyList());
+
+        ResponseEntity<Cart> response = cartController.modifyCart(request);
+        assertEquals(response.getStatusCodeValue(), HttpStatus.BAD_REQUEST.value());
+    }
+
+    private static CartOperation getOperation(CartOperation.Type type, long itemId, int quantity) {
+        CartOperation operation = new CartOperation();
+        operation.setType(type);
+        operation.setItemId(itemId);
+        operation.setQuantity(quantity);
+        return operation;
+    }
+
     private static User getUser() {
         User user = new User();
         user.setUsername(USERNAME);
@@ -1,28 +1,38 @@
 package com.example.demo.controllers;
 
+import com.example.demo.catalog.ItemCatalog;
+import com.example.demo.catalog.ItemSearchIndex;
 import com.example.demo.model.persistence.Item;
 import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.model.responses.ItemPage;
 import org.assertj.core.util.Lists;
 import org.junit.Before;
 import org.junit.Test;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 public class ItemControllerTest {
     private ItemController itemController;
+    private ItemSearchIndex itemSearchIndex;
     private ItemRepository repository = mock(ItemRepository.class);
 
     @Before
     public void setup() {
-        itemController = new ItemController(repository);
+        ItemCatalog itemCatalog = new ItemCatalog(repository, 100, 60);
+        itemSearchIndex = new ItemSearchIndex(itemCatalog, repository, mock(PlatformTransactionManager.class));
+        itemController = new ItemController(itemCatalog, itemSearchIndex);
 
         Item item1 = getItem(1L, "test_item_01");
         Item item2 = getItem(2L, "test_item_XX");
@@ -31,6 +41,8 @@ public class ItemControllerTest {
         when(repository.findById(1L)).thenReturn(Optional.of(item1));
         when(repository.findByName(item2.getName())).thenReturn(Lists.list(item2, item3));
         when(repository.findAll()).thenReturn(Lists.list(item1, item2, item3));
+        when(repository.findAllByOrderByIdAsc(any())).thenReturn(Lists.list(item1, item2, item3));
+        when(repository.findByIdGreaterThanOrderByIdAsc(eq(2L), any())).thenReturn(Lists.list(item3));
     }
 
     @Test
@@ -44,6 +56,66 @@ public class ItemControllerTest {
         assertEquals(items.size(), 3);
     }
 
+    @Test
+    public void whenFindFirstItemPage_thenPageAndCursorAreReturned() {
+        ResponseEntity<ItemPage> responseEntity = itemController.getItemPage(null, "id", 2);
+        ItemPage page = responseEntity.getBody();
+
+        assertEquals(responseEntity.getStatusCodeValue(), HttpStatus.OK.value());
+        assertNotNull(page);
+        assertEquals(page.getItems().size(), 2);
+        assertNotNull(page.getNextCursor());
+    }
+
+    @Test
+    public void whenFindItemPageAfterCursor_thenRemainingItemsAreReturned() {
+        String cursor = itemController.getItemPage(null, "id", 2).getBody().getNextCursor();
+
+        ResponseEntity<ItemPage> responseEntity = itemController.getItemPage(cursor, "id", 2);
+        ItemPage page = responseEntity.getBody();
+
+        assertEquals(responseEntity.getStatusCodeValue(), HttpStatus.OK.value());
+        assertNotNull(page);
+        assertEquals(page.getItems().size(), 1);
+        assertEquals(page.getItems().get(0).getId().longValue(), 3L);
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    public void whenFindItemPageWithCursorOfAnotherSort_thenBadRequestIsReturned() {
+        String cursor = itemController.getItemPage(null, "id", 2).getBody().getNextCursor();
+
+        ResponseEntity<ItemPage> responseEntity = itemController.getItemPage(cursor, "name", 2);
+
+        assertEquals(responseEntity.getStatusCodeValue(), HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    public void whenFindItemPageWithUnknownSort_thenBadRequestIsReturned() {
+        ResponseEntity<ItemPage> responseEntity = itemController.getItemPage(null, "color", 2);
+
+        assertEquals(responseEntity.getStatusCodeValue(), HttpStatus.BAD_REQUEST.value());
+    }
+
+    @Test
+    public void whenSearchItems_thenMatchingItemsAreReturned() {
+        itemSearchIndex.rebuild();
+
+        ResponseEntity<List<Item>> responseEntity = itemController.searchItems("item xx", 20);
+        List<Item> items = responseEntity.getBody();
+
+        assertEquals(responseEntity.getStatusCodeValue(), HttpStatus.OK.value());
+        assertNotNull(items);
+        assertEquals(items.size(), 2);
+    }
+
+    @Test
+    public void whenSearchItemsWithBlankQuery_thenBadRequestIsReturned() {
+        ResponseEntity<List<Item>> responseEntity = itemController.searchItems(" ", 20);
+
+        assertEquals(responseEntity.getStatusCodeValue(), HttpStatus.BAD_REQUEST.value());
+    }
+
     @Test
     public void whenFindItemById_thenItemIsReturned() {
         ResponseEntity<Item> responseEntity = itemController.getItemById(1L);
@@ -6,19 +6,26 @@ import com.example.demo.model.persistence.User;
 import com.example.demo.model.persistence.UserOrder;
 import com.example.demo.model.persistence.repositories.OrderRepository;
 import com.example.demo.model.persistence.repositories.UserRepository;
+import com.example.demo.model.responses.OrderHistoryPage;
+import com.example.demo.model.responses.OrderSummary;
 import org.assertj.core.util.Lists;
 import org.junit.Before;
 import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -27,6 +34,8 @@ public class OrderControllerTest {
     private static final String USERNAME = "username";
     private static final long ITEM_ID = 1L;
     private static final String PRICE = "21.45";
+    private static final String ITEM_NAME = "item_name";
+    private static final long ORDER_ID = 7L;
 
     private OrderController orderController;
     private OrderRepository orderRepository = mock(OrderRepository.class);
@@ -34,9 +43,13 @@ public class OrderControllerTest {
 
     @Before
     public void setup() {
-        orderController = new OrderController(userRepository, orderRepository);
-        when(userRepository.findByUsername(USERNAME)).thenReturn(getUser());
-        when(orderRepository.findByUser(any())).thenReturn(getUserOrders());
+        orderController = new OrderController(userRepository, orderRepository, mock(PlatformTransactionManager.class));
+        when(userRepository.findWithCartByUsername(USERNAME)).thenReturn(getUser());
+        when(orderRepository.findWithLinesByUsername(USERNAME)).thenReturn(getUserOrders());
+        when(userRepository.existsByUsername(USERNAME)).thenReturn(true);
+        when(orderRepository.findSummariesByUsername(eq(USERNAME), any())).thenReturn(new SliceImpl<>(
+                Lists.list(new OrderSummary(ORDER_ID, new BigDecimal(PRICE), 1, Instant.now())), PageRequest.of(0, 20), false));
+        when(orderRepository.findDetailByIdAndUsername(ORDER_ID, USERNAME)).thenReturn(Optional.of(getUserOrders().get(0)));
     }
 
     @Test
@@ -47,7 +60,9 @@ public class OrderControllerTest {
         assertEquals(response.getStatusCodeValue(), HttpStatus.OK.value());
         assertNotNull(userOrder);
         assertEquals(userOrder.getUser().getUsername(), USERNAME);
-        assertEquals(userOrder.getItems().size(), 1);
+        assertEquals(userOrder.getLines().size(), 1);
+        assertEquals(userOrder.getLines().get(0).getItemId(), Long.valueOf(ITEM_ID));
+        assertEquals(userOrder.getLines().get(0).getItemName(), ITEM_NAME);
         assertEquals(userOrder.getTotal(), new BigDecimal(PRICE));
     }
 
@@ -69,7 +84,7 @@ public class OrderControllerTest {
         UserOrder userOrder = userOrders.get(0);
         assertEquals(userOrder.getUser().getUsername(), USERNAME);
         assertEquals(userOrder.getTotal(), new BigDecimal(PRICE));
-        assertEquals(userOrder.getItems().size(), 1);
+        assertEquals(userOrder.getLines().size(), 1);
     }
 
     @Test
@@ -78,6 +93,42 @@ public class OrderControllerTest {
         assertEquals(response.getStatusCodeValue(), HttpStatus.NOT_FOUND.value());
     }
 
+    @Test
+    public void whenGetOrderSummariesForUser_thenSummariesAreReturned() {
+        ResponseEntity<OrderHistoryPage> response = orderController.getOrderSummariesForUser(USERNAME, 0, 20);
+        OrderHistoryPage history = response.getBody();
+
+        assertEquals(response.getStatusCodeValue(), HttpStatus.OK.value());
+        assertNotNull(history);
+        assertEquals(history.getOrders().size(), 1);
+        assertEquals(history.getOrders().get(0).getTotal(), new BigDecimal(PRICE));
+        assertEquals(history.getOrders().get(0).getItemCount(), 1);
+        assertEquals(history.hasNext(), false);
+    }
+
+    @Test
+    public void whenGetOrderSummariesForInvalidUser_thenNotFoundErrorIsReturned() {
+        ResponseEntity<OrderHistoryPage> response = orderController.getOrderSummariesForUser("", 0, 20);
+        assertEquals(response.getStatusCodeValue(), HttpStatus.NOT_FOUND.value());
+    }
+
+    @Test
+    public void whenGetOrderForUser_thenOrderDetailIsReturned() {
+        ResponseEntity<UserOrder> response = orderController.getOrderForUser(USERNAME, ORDER_ID);
+        UserOrder userOrder = response.getBody();
+
+        assertEquals(response.getStatusCodeValue(), HttpStatus.OK.value());
+        assertNotNull(userOrder);
+        assertEquals(userOrder.getLines().size(), 1);
+        assertEquals(userOrder.getItemCount(), 1);
+    }
+
+    @Test
+    public void whenGetOrderOfAnotherUser_thenNotFoundErrorIsReturned() {
+        ResponseEntity<UserOrder> response = orderController.getOrderForUser("", ORDER_ID);
+        assertEquals(response.getStatusCodeValue(), HttpStatus.NOT_FOUND.value());
+    }
+
     private static User getUser() {
         User user = new User();
         user.setUsername(USERNAME);
@@ -95,6 +146,7 @@ public class OrderControllerTest {
     private static Optional<Item> getItem() {
         Item item = new Item();
         item.setId(ITEM_ID);
+        item.setName(ITEM_NAME);
         item.setPrice(new BigDecimal(PRICE));
         return Optional.of(item);
     }
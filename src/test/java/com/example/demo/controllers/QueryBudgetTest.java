@@ -0,0 +1,69 @@
+package com.example.demo.controllers;
+
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.sql.QueryBudget;
+import com.example.demo.sql.QueryStatsFilter;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.Assert.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Query budgets of the cart and order endpoints, measured on a database of their own. A budget that
+ * starts failing means an endpoint issues more statements than it used to, typically N+1 loading.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:query-budget;DB_CLOSE_DELAY=-1",
+        "metrics.sql.response-header=true"})
+@AutoConfigureMockMvc
+@WithMockUser("admin")
+public class QueryBudgetTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    public void whenItemIsAddedAndOrdered_thenEndpointsStayWithinTheirBudgets() throws Exception {
+        long itemId = itemRepository.findAll().get(0).getId();
+
+        mockMvc.perform(post("/api/cart/addToCart")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"username\":\"admin\",\"itemId\":" + itemId + ",\"quantity\":2}"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QueryStatsFilter.HEADER))
+                .andExpect(QueryBudget.statementsAtMost(10))
+                .andExpect(QueryBudget.collectionFetchesAtMost(0));
+
+        mockMvc.perform(post("/api/order/submit/admin"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.statementsAtMost(10));
+
+        // orders, their lines and the user come from a single query
+        mockMvc.perform(get("/api/order/history/admin"))
+                .andExpect(status().isOk())
+                .andExpect(QueryBudget.statementsAtMost(1))
+                .andExpect(QueryBudget.collectionFetchesAtMost(0));
+    }
+
+    @Test
+    public void whenCodeIsMeasuredDirectly_thenItsStatementsAreCounted() {
+        long statements = QueryBudget.measure(() -> itemRepository.count()).getStatements();
+
+        assertEquals(statements, 1);
+    }
+}
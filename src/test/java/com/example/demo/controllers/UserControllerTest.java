@@ -4,6 +4,7 @@ import com.example.demo.model.persistence.User;
 import com.example.demo.model.persistence.repositories.CartRepository;
 import com.example.demo.model.persistence.repositories.UserRepository;
 import com.example.demo.model.requests.CreateUserRequest;
+import com.example.demo.security.UserCredentialsCache;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -15,6 +16,7 @@ import java.util.Optional;
 
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 public class UserControllerTest {
@@ -26,10 +28,11 @@ public class UserControllerTest {
     private UserRepository userRepository = mock(UserRepository.class);
     private CartRepository cartRepository = mock(CartRepository.class);
     private BCryptPasswordEncoder passwordEncoder = mock(BCryptPasswordEncoder.class);
+    private UserCredentialsCache credentialsCache = mock(UserCredentialsCache.class);
 
     @Before
     public void setup() {
-        userController = new UserController(userRepository, cartRepository, passwordEncoder);
+        userController = new UserController(userRepository, cartRepository, passwordEncoder, credentialsCache);
     }
 
     @Test
@@ -86,6 +89,7 @@ public class UserControllerTest {
         Assert.assertEquals(response.getStatusCodeValue(), HttpStatus.OK.value());
         Assert.assertEquals(createdUser.getUsername(), TEST_USERNAME);
         Assert.assertEquals(createdUser.getPassword(), TEST_PASSWORD);
+        verify(credentialsCache).invalidate(TEST_USERNAME);
     }
 
     @Test
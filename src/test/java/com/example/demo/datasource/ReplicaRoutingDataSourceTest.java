@@ -0,0 +1,108 @@
+package com.example.demo.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ReplicaRoutingDataSourceTest {
+
+    private static final String LAG_QUERY = "select lag_ms from replica_lag";
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private DataSource primary = database("routing_primary");
+    private DataSource replicaDatabase = database("routing_replica");
+    private Replica replica = new Replica("replica-1", replicaDatabase);
+    private ReplicaHealthMonitor monitor = new ReplicaHealthMonitor(Collections.singletonList(replica), LAG_QUERY, 5000, meterRegistry);
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate writeTransaction;
+    private TransactionTemplate readTransaction;
+
+    @Before
+    public void setup() {
+        DataSource routing = new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, Collections.singletonList(replica), meterRegistry));
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(routing);
+        jdbcTemplate = new JdbcTemplate(routing);
+        writeTransaction = new TransactionTemplate(transactionManager);
+        readTransaction = new TransactionTemplate(transactionManager);
+        readTransaction.setReadOnly(true);
+
+        setLag(0);
+        monitor.check();
+    }
+
+    @Test
+    public void whenTransactionIsReadOnly_thenReplicaServesIt() {
+        // the lazy proxy already borrowed one primary connection to learn the connection defaults
+        double writes = routed("write", "primary");
+
+        assertEquals(readTransaction.execute(status -> currentDatabase()), "replica");
+        assertEquals(writeTransaction.execute(status -> currentDatabase()), "primary");
+        assertEquals(currentDatabase(), "primary");
+
+        assertEquals(routed("read", "replica-1"), 1.0, 0.0);
+        assertEquals(routed("write", "primary") - writes, 2.0, 0.0);
+    }
+
+    @Test
+    public void whenReplicaLagsTooFar_thenReadsFallBackToPrimary() {
+        setLag(60_000);
+        monitor.check();
+
+        assertFalse(replica.isHealthy());
+        assertEquals(replica.getLagMillis(), 60_000);
+        assertEquals(readTransaction.execute(status -> currentDatabase()), "primary");
+        assertEquals(routed("read", "primary"), 1.0, 0.0);
+
+        setLag(100);
+        monitor.check();
+
+        assertTrue(replica.isHealthy());
+        assertEquals(readTransaction.execute(status -> currentDatabase()), "replica");
+    }
+
+    @Test
+    public void whenReplicaIsUnreachable_thenItIsTakenOutOfRotation() {
+        Replica unreachable = new Replica("unreachable", new DriverManagerDataSource("jdbc:h2:mem:routing_missing;IFEXISTS=TRUE", "sa", ""));
+        new ReplicaHealthMonitor(Collections.singletonList(unreachable), null, 5000, meterRegistry).check();
+
+        assertFalse(unreachable.isHealthy());
+    }
+
+    private String currentDatabase() {
+        return jdbcTemplate.queryForObject("select name from database_role", String.class);
+    }
+
+    private void setLag(long lagMillis) {
+        new JdbcTemplate(replicaDatabase).update("update replica_lag set lag_ms = ?", lagMillis);
+    }
+
+    private double routed(String route, String target) {
+        return meterRegistry.get("datasource.routing.connections").tag("route", route).tag("target", target).counter().count();
+    }
+
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists database_role (name varchar(16))");
+        jdbcTemplate.execute("create table if not exists replica_lag (lag_ms bigint)");
+        jdbcTemplate.execute("delete from database_role");
+        jdbcTemplate.execute("delete from replica_lag");
+        jdbcTemplate.update("insert into database_role values (?)", name.substring(name.indexOf('_') + 1));
+        jdbcTemplate.update("insert into replica_lag values (0)");
+        return dataSource;
+    }
+}
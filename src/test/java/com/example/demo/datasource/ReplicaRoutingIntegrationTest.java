@@ -0,0 +1,89 @@
+package com.example.demo.datasource;
+
+import com.example.demo.controllers.OrderController;
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.model.persistence.repositories.OrderRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Routes the JPA repositories through {@link ReplicaRoutingDataSource} with an empty H2 database as
+ * the replica: only the primary holds the seeded items and the admin user, so what a query returns
+ * shows where it ran.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "datasource.routing.enabled=true",
+        "datasource.routing.replicas[0].name=replica-1",
+        "datasource.routing.replicas[0].url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1;INIT=RUNSCRIPT FROM 'classpath:db/schema.sql'",
+        "datasource.routing.replicas[0].username=sa",
+        "datasource.routing.replicas[0].password="})
+public class ReplicaRoutingIntegrationTest {
+
+    private static final String ITEM_NAME = "Round Widget";
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void whenRepositoryQueryMethodsAreCalled_thenReplicaServesThem() {
+        double replicaReads = routed("read", "replica-1");
+
+        assertTrue(itemRepository.findByName(ITEM_NAME).isEmpty());
+        assertTrue(orderRepository.findWithLinesByUsername("admin").isEmpty());
+        assertTrue(orderRepository.findSummariesByUsername("admin", PageRequest.of(0, 20)).getContent().isEmpty());
+
+        assertEquals(routed("read", "replica-1") - replicaReads, 3.0, 0.0);
+    }
+
+    @Test
+    public void whenQueryRunsInReadWriteTransaction_thenPrimaryServesIt() {
+        double replicaReads = routed("read", "replica-1");
+
+        Boolean found = new TransactionTemplate(transactionManager)
+                .execute(status -> !itemRepository.findByName(ITEM_NAME).isEmpty());
+
+        assertTrue(found);
+        assertEquals(routed("read", "replica-1") - replicaReads, 0.0, 0.0);
+    }
+
+    @Test
+    public void whenOrderIsSubmitted_thenCartIsReadFromPrimary() {
+        double replicaReads = routed("read", "replica-1");
+
+        // the admin user only exists on the primary
+        assertEquals(orderController.submit("admin").getStatusCode(), HttpStatus.OK);
+        assertEquals(routed("read", "replica-1") - replicaReads, 0.0, 0.0);
+        assertFalse(new TransactionTemplate(transactionManager)
+                .execute(status -> orderRepository.findWithLinesByUsername("admin")).isEmpty());
+    }
+
+    private double routed(String route, String target) {
+        return meterRegistry.get("datasource.routing.connections").tag("route", route).tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.SareetaApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Self-contained load test. Boots {@link SareetaApplication} on a random port with a private in-memory
+ * H2 database (or targets {@code loadtest.base-url}), runs {@link VirtualUser} shoppers against it and
+ * prints requests/sec and latency percentiles per endpoint. Latencies are measured client side and
+ * include connection handling and JSON (de)serialization.
+ * <p>
+ * Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.example.demo.loadtest.LoadTest \
+ *     -Dloadtest.users=32 -Dloadtest.duration-seconds=120
+ * </pre>
+ * System properties:
+ * <ul>
+ *     <li>{@code loadtest.users} - concurrent virtual users (default 16)</li>
+ *     <li>{@code loadtest.warmup-seconds} - unrecorded warm-up (default 10)</li>
+ *     <li>{@code loadtest.duration-seconds} - recorded run time (default 60)</li>
+ *     <li>{@code loadtest.session-iterations} - shopping loops per sign-up and login (default 10)</li>
+ *     <li>{@code loadtest.base-url} - test a running instance instead of booting one</li>
+ *     <li>{@code loadtest.app-properties} - comma separated {@code key=value} overrides for the booted application</li>
+ *     <li>{@code loadtest.mode} - {@code blocking} (default) or {@code async}; async sends the item, cart and order
+ *     traffic to the {@code /api/async} controllers and boots the application with {@code app.async.enabled=true}</li>
+ * </ul>
+ * To compare the two modes under the same request thread budget, run both with a deliberately small Tomcat pool and
+ * more users than threads, e.g.:
+ * <pre>
+ * -Dloadtest.users=200 -Dloadtest.app-properties=server.tomcat.max-threads=20
+ * -Dloadtest.users=200 -Dloadtest.app-properties=server.tomcat.max-threads=20 -Dloadtest.mode=async
+ * </pre>
+ * In blocking mode every in-flight request holds a Tomcat thread for its whole database round trip, so the
+ * excess users queue for threads. In async mode the threads only parse the request and write the response while
+ * the database work queues on the {@code db.executor} pool, which is sized to the connection pool.
+ */
+public class LoadTest {
+
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadtest.users", 16);
+        int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+        int sessionIterations = Integer.getInteger("loadtest.session-iterations", 10);
+        String baseUrl = System.getProperty("loadtest.base-url", "");
+        boolean async = "async".equalsIgnoreCase(System.getProperty("loadtest.mode", "blocking"));
+        String api = async ? "/api/async" : "/api";
+
+        // keep one pooled connection per virtual user
+        System.setProperty("http.maxConnections", String.valueOf(users));
+
+        ConfigurableApplicationContext context = null;
+        if (baseUrl.isEmpty()) {
+            context = boot(System.getProperty("loadtest.app-properties", ""), async);
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        }
+        try {
+            MeterRegistry registry = new SimpleMeterRegistry();
+            Duration window = Duration.ofSeconds(warmupSeconds + durationSeconds + 60L);
+            LoadTestClient client = new LoadTestClient(baseUrl, registry, window);
+            ObjectMapper objectMapper = new ObjectMapper();
+            List<Long> itemIds = itemIds(client, objectMapper);
+
+            System.out.printf("Running %d users against %s%s: %ds warm-up, %ds measured, %d items%n",
+                    users, baseUrl, api, warmupSeconds, durationSeconds, itemIds.size());
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(warmupSeconds + durationSeconds);
+            ExecutorService pool = Executors.newFixedThreadPool(users);
+            for (int i = 0; i < users; i++) {
+                pool.execute(new VirtualUser(client, api, objectMapper, itemIds, sessionIterations, deadline));
+            }
+            TimeUnit.SECONDS.sleep(warmupSeconds);
+            client.startRecording();
+            long start = System.nanoTime();
+            TimeUnit.SECONDS.sleep(durationSeconds);
+            client.stopRecording();
+            long elapsed = System.nanoTime() - start;
+            pool.shutdown();
+            pool.awaitTermination(1, TimeUnit.MINUTES);
+
+            report(registry, elapsed);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(String appProperties, boolean async) {
+        List<String> properties = new ArrayList<>();
+        properties.add("server.port=0");
+        properties.add("app.async.enabled=" + async);
+        properties.add("spring.datasource.url=jdbc:h2:mem:loadtest-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        properties.add("logging.level.root=WARN");
+        for (String property : appProperties.split(",")) {
+            if (!property.trim().isEmpty()) {
+                properties.add(property.trim());
+            }
+        }
+        return new SpringApplicationBuilder(SareetaApplication.class)
+                .properties(properties.toArray(new String[0]))
+                .run();
+    }
+
+    private static List<Long> itemIds(LoadTestClient client, ObjectMapper objectMapper) throws IOException {
+        String username = "lt-setup-" + UUID.randomUUID();
+        String password = "password-" + username;
+        client.post("POST /api/user/create", "/api/user/create", objectMapper.createObjectNode()
+                .put("username", username).put("password", password).put("confirmPassword", password).toString(), null);
+        LoadTestClient.Response login = client.post("POST /login", "/login", objectMapper.createObjectNode()
+                .put("username", username).put("password", password).toString(), null);
+        if (!login.isSuccessful()) {
+            throw new IllegalStateException("Could not log in the setup user: HTTP " + login.status);
+        }
+        LoadTestClient.Response items = client.get("GET /api/item", "/api/item", login.authorization);
+        List<Long> ids = new ArrayList<>();
+        for (JsonNode item : objectMapper.readTree(items.body)) {
+            ids.add(item.get("id").asLong());
+        }
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("The catalog is empty");
+        }
+        return ids;
+    }
+
+    private static void report(MeterRegistry registry, long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        List<Timer> timers = new ArrayList<>(registry.find(LoadTestClient.LATENCY).timers());
+        timers.sort(Comparator.comparing(timer -> timer.getId().getTag("endpoint")));
+
+        System.out.printf("%n%-44s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long totalRequests = 0;
+        long totalErrors = 0;
+        for (Timer timer : timers) {
+            String endpoint = timer.getId().getTag("endpoint");
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            Counter errors = registry.find(LoadTestClient.ERRORS).tag("endpoint", endpoint).counter();
+            long errorCount = errors == null ? 0 : (long) errors.count();
+            totalRequests += snapshot.count();
+            totalErrors += errorCount;
+
+            StringBuilder percentiles = new StringBuilder();
+            for (ValueAtPercentile value : snapshot.percentileValues()) {
+                percentiles.append(String.format(" %9.2f", value.value(TimeUnit.MILLISECONDS)));
+            }
+            System.out.printf("%-44s %9d %7d %9.1f%s %9.2f%n", endpoint, snapshot.count(), errorCount,
+                    snapshot.count() / seconds, percentiles, snapshot.max(TimeUnit.MILLISECONDS));
+        }
+        System.out.printf("%n%d requests in %.1fs: %.1f req/s, %d errors%n",
+                totalRequests, seconds, totalRequests / seconds, totalErrors);
+    }
+}
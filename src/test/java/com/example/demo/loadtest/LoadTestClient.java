@@ -0,0 +1,136 @@
+package com.example.demo.loadtest;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Minimal blocking HTTP client for the load test. Every call is timed under the endpoint label it is
+ * given (e.g. {@code GET /api/item/{id}}) so requests to the same mapping share one histogram.
+ * Calls are only recorded while {@link #recording} is set, which keeps warm-up out of the results.
+ */
+class LoadTestClient {
+
+    static final String LATENCY = "loadtest.latency";
+    static final String ERRORS = "loadtest.errors";
+
+    private final String baseUrl;
+    private final MeterRegistry registry;
+    private final Duration window;
+    private final AtomicBoolean recording = new AtomicBoolean();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    LoadTestClient(String baseUrl, MeterRegistry registry, Duration window) {
+        this.baseUrl = baseUrl;
+        this.registry = registry;
+        this.window = window;
+    }
+
+    void startRecording() {
+        recording.set(true);
+    }
+
+    void stopRecording() {
+        recording.set(false);
+    }
+
+    Response get(String endpoint, String path, String token) {
+        return send(endpoint, "GET", path, null, token);
+    }
+
+    Response post(String endpoint, String path, String json, String token) {
+        return send(endpoint, "POST", path, json, token);
+    }
+
+    private Response send(String endpoint, String method, String path, String json, String token) {
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = exchange(method, path, json, token);
+        } catch (IOException e) {
+            response = new Response(-1, null, e.toString());
+        }
+        if (recording.get()) {
+            timer(endpoint).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            if (!response.isSuccessful()) {
+                registry.counter(ERRORS, "endpoint", endpoint).increment();
+            }
+        }
+        return response;
+    }
+
+    private Response exchange(String method, String path, String json, String token) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(baseUrl + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setConnectTimeout(5000);
+        connection.setReadTimeout(30000);
+        if (token != null) {
+            connection.setRequestProperty("Authorization", token);
+        }
+        if (json != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream out = connection.getOutputStream()) {
+                out.write(json.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        int status = connection.getResponseCode();
+        // read the body fully so the connection goes back to the keep-alive pool
+        InputStream in = status < 400 ? connection.getInputStream() : connection.getErrorStream();
+        String body = in == null ? "" : readFully(in);
+        return new Response(status, connection.getHeaderField("Authorization"), body);
+    }
+
+    private Timer timer(String endpoint) {
+        Timer timer = timers.get(endpoint);
+        if (timer != null) {
+            return timer;
+        }
+        return timers.computeIfAbsent(endpoint, name -> Timer.builder(LATENCY)
+                .tag("endpoint", name)
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .distributionStatisticExpiry(window)
+                .distributionStatisticBufferLength(1)
+                .register(registry));
+    }
+
+    private static String readFully(InputStream in) throws IOException {
+        try (InputStream stream = in) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                out.write(buffer, 0, read);
+            }
+            return new String(out.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    static final class Response {
+        final int status;
+        final String authorization;
+        final String body;
+
+        Response(int status, String authorization, String body) {
+            this.status = status;
+            this.authorization = authorization;
+            this.body = body;
+        }
+
+        boolean isSuccessful() {
+            return status >= 200 && status < 400;
+        }
+    }
+}
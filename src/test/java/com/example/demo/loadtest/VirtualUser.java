@@ -0,0 +1,92 @@
+package com.example.demo.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * One simulated shopper. Each session signs up a new user and logs in through the JWT filter, then
+ * repeats the shopping loop: browse and search the catalog, add an item to the cart, submit an order,
+ * read the order history, and take the item out of the cart again so carts stay small.
+ */
+class VirtualUser implements Runnable {
+
+    private static final String[] QUERIES = {"widget", "round", "square"};
+
+    private final LoadTestClient client;
+    private final String api;
+    private final ObjectMapper objectMapper;
+    private final List<Long> itemIds;
+    private final int iterationsPerSession;
+    private final long deadlineNanos;
+
+    VirtualUser(LoadTestClient client, String api, ObjectMapper objectMapper, List<Long> itemIds, int iterationsPerSession, long deadlineNanos) {
+        this.client = client;
+        this.api = api;
+        this.objectMapper = objectMapper;
+        this.itemIds = itemIds;
+        this.iterationsPerSession = iterationsPerSession;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    @Override
+    public void run() {
+        while (System.nanoTime() < deadlineNanos) {
+            String username = "lt-" + UUID.randomUUID();
+            String token = signUp(username);
+            if (token == null) {
+                continue;
+            }
+            for (int i = 0; i < iterationsPerSession && System.nanoTime() < deadlineNanos; i++) {
+                shop(username, token);
+            }
+        }
+    }
+
+    private String signUp(String username) {
+        String password = "password-" + username;
+        ObjectNode user = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", password)
+                .put("confirmPassword", password);
+        if (!client.post("POST /api/user/create", "/api/user/create", json(user), null).isSuccessful()) {
+            return null;
+        }
+        ObjectNode credentials = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", password);
+        LoadTestClient.Response login = client.post("POST /login", "/login", json(credentials), null);
+        return login.isSuccessful() ? login.authorization : null;
+    }
+
+    private void shop(String username, String token) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long itemId = itemIds.get(random.nextInt(itemIds.size()));
+
+        client.get("GET /api/item", api + "/item", token);
+        client.get("GET /api/item/page", api + "/item/page?size=20", token);
+        client.get("GET /api/item/search", api + "/item/search?q=" + QUERIES[random.nextInt(QUERIES.length)], token);
+        client.get("GET /api/item/{id}", api + "/item/" + itemId, token);
+
+        ObjectNode change = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("itemId", itemId)
+                .put("quantity", 1);
+        client.post("POST /api/cart/addToCart", api + "/cart/addToCart", json(change), token);
+        client.post("POST /api/order/submit/{username}", api + "/order/submit/" + username, null, token);
+        client.get("GET /api/order/history/{username}/summaries", api + "/order/history/" + username + "/summaries?size=20", token);
+        client.post("POST /api/cart/removeFromCart", api + "/cart/removeFromCart", json(change), token);
+    }
+
+    private String json(ObjectNode node) {
+        try {
+            return objectMapper.writeValueAsString(node);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.example.demo.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.PatternLayout;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import ch.qos.logback.core.LayoutBase;
+import ch.qos.logback.core.status.Status;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BatchingTcpAppenderTest {
+
+    private LoggerContext context = new LoggerContext();
+    private Logger logger = context.getLogger(BatchingTcpAppenderTest.class);
+    private BatchingTcpAppender appender = new BatchingTcpAppender();
+
+    @Before
+    public void setup() {
+        PatternLayout layout = new PatternLayout();
+        layout.setContext(context);
+        layout.setPattern("%msg%n");
+        layout.start();
+
+        appender.setContext(context);
+        appender.setName("test");
+        appender.setLayout(layout);
+    }
+
+    @After
+    public void tearDown() {
+        appender.stop();
+    }
+
+    @Test
+    public void whenCollectorIsListening_thenEventsAreDelivered() throws Exception {
+        try (ServerSocket collector = new ServerSocket(0)) {
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            Thread reader = new Thread(() -> readLines(collector, received));
+            reader.setDaemon(true);
+            reader.start();
+
+            appender.setPort(collector.getLocalPort());
+            appender.start();
+            for (int i = 0; i < 100; i++) {
+                appender.doAppend(event("message " + i));
+            }
+
+            List<String> lines = new ArrayList<>();
+            while (lines.size() < 100) {
+                String line = received.poll(5, TimeUnit.SECONDS);
+                assertTrue("timed out waiting for log lines", line != null);
+                lines.add(line);
+            }
+            assertEquals(lines.get(0), "message 0");
+            assertEquals(lines.get(99), "message 99");
+            assertEquals(appender.getSentCount(), 100);
+            assertTrue(appender.getBatchCount() <= 100);
+            assertEquals(appender.getDroppedCount(), 0);
+        }
+    }
+
+    @Test
+    public void whenLayoutThrows_thenEventIsCountedAsLostAndShippingContinues() throws Exception {
+        LayoutBase<ILoggingEvent> layout = new LayoutBase<ILoggingEvent>() {
+            @Override
+            public String doLayout(ILoggingEvent event) {
+                if (event.getFormattedMessage().startsWith("poison")) {
+                    throw new IllegalStateException("broken converter");
+                }
+                return event.getFormattedMessage() + "\n";
+            }
+        };
+        layout.setContext(context);
+        layout.start();
+        appender.setLayout(layout);
+
+        try (ServerSocket collector = new ServerSocket(0)) {
+            BlockingQueue<String> received = new LinkedBlockingQueue<>();
+            Thread reader = new Thread(() -> readLines(collector, received));
+            reader.setDaemon(true);
+            reader.start();
+
+            appender.setPort(collector.getLocalPort());
+            appender.start();
+            appender.doAppend(event("message 0"));
+            appender.doAppend(event("poison"));
+            appender.doAppend(event("message 1"));
+
+            assertEquals(received.poll(5, TimeUnit.SECONDS), "message 0");
+            assertEquals(received.poll(5, TimeUnit.SECONDS), "message 1");
+            // the counter is updated once the write returns, which can be after the collector read it
+            long deadline = System.currentTimeMillis() + 5000;
+            while (appender.getSentCount() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(appender.getSentCount(), 2);
+            assertEquals(appender.getLostCount(), 1);
+            assertTrue(context.getStatusManager().getCopyOfStatusList().stream()
+                    .anyMatch(status -> status.getLevel() == Status.ERROR));
+        }
+    }
+
+    @Test
+    public void whenCollectorIsDownAndQueueIsFull_thenEventsAreDroppedWithoutBlocking() throws IOException {
+        int unusedPort;
+        try (ServerSocket probe = new ServerSocket(0)) {
+            unusedPort = probe.getLocalPort();
+        }
+        appender.setPort(unusedPort);
+        appender.setQueueSize(2);
+        appender.setBatchSize(1);
+        appender.setReconnectionDelayMillis(60_000);
+        appender.start();
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 10; i++) {
+            appender.doAppend(event("message " + i));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // at most two events fit in the queue and one more can be held by the worker
+        assertTrue(appender.getDroppedCount() >= 7);
+        assertTrue(elapsedMillis < 1000);
+    }
+
+    private ILoggingEvent event(String message) {
+        return new LoggingEvent(Logger.class.getName(), logger, Level.INFO, message, null, null);
+    }
+
+    private static void readLines(ServerSocket collector, BlockingQueue<String> received) {
+        try (Socket connection = collector.accept();
+             BufferedReader in = new BufferedReader(new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                received.add(line);
+            }
+        } catch (IOException ignored) {
+            // collector closed
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.demo.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class EndpointMetricsTest {
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EndpointMetrics endpointMetrics = new EndpointMetrics(meterRegistry, 60);
+    private EndpointMetricsInterceptor interceptor = new EndpointMetricsInterceptor(endpointMetrics);
+    private EndpointMetricsFilter filter = new EndpointMetricsFilter();
+
+    @Test
+    public void whenControllerMethodIsCalled_thenLatencyAndSuccessAreRecorded() throws Exception {
+        HandlerMethod handler = handler(new TestController(), "ok");
+
+        serve(handler, HttpServletResponse.SC_OK);
+        serve(handler, HttpServletResponse.SC_OK);
+        serve(handler, HttpServletResponse.SC_NOT_FOUND);
+
+        assertEquals(meterRegistry.get("endpoint.latency").tag("controller", "TestController").tag("method", "ok").timer().count(), 3);
+        assertEquals(meterRegistry.get("endpoint.requests").tag("outcome", "success").counter().count(), 2.0, 0.0);
+        assertEquals(meterRegistry.get("endpoint.requests").tag("outcome", "failure").counter().count(), 1.0, 0.0);
+
+        List<EndpointLatency> latencies = new EndpointLatencyEndpoint(endpointMetrics).latencies();
+        assertEquals(latencies.size(), 1);
+        assertEquals(latencies.get(0).getSuccesses(), 2);
+        assertEquals(latencies.get(0).getFailures(), 1);
+    }
+
+    @Test
+    public void whenSameMethodIsCalledAgain_thenMetersAreReused() throws Exception {
+        HandlerMethod handler = handler(new TestController(), "ok");
+
+        assertSame(endpointMetrics.metersFor(handler), endpointMetrics.metersFor(handler));
+    }
+
+    @Test
+    public void whenHandlerIsNotRestController_thenNothingIsRecorded() throws Exception {
+        HandlerMethod handler = handler(new Object(), "toString");
+
+        assertNull(endpointMetrics.metersFor(handler));
+        serve(handler, HttpServletResponse.SC_OK);
+        assertEquals(meterRegistry.find("endpoint.latency").timers().size(), 0);
+    }
+
+    @Test
+    public void whenHandlerIsAsync_thenRequestIsRecordedOnCompletion() throws Exception {
+        HandlerMethod handler = handler(new TestController(), "ok");
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain dispatch = (req, res) -> {
+            interceptor.preHandle(request, response, handler);
+            request.startAsync();
+        };
+
+        filter.doFilter(request, response, dispatch);
+        assertEquals(meterRegistry.get("endpoint.latency").timer().count(), 0);
+
+        response.setStatus(HttpServletResponse.SC_CONFLICT);
+        request.getAsyncContext().complete();
+        assertEquals(meterRegistry.get("endpoint.latency").timer().count(), 1);
+        assertEquals(meterRegistry.get("endpoint.requests").tag("outcome", "failure").counter().count(), 1.0, 0.0);
+    }
+
+    private void serve(HandlerMethod handler, int status) throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        FilterChain dispatch = (req, res) -> {
+            interceptor.preHandle(request, response, handler);
+            response.setStatus(status);
+        };
+        filter.doFilter(request, response, dispatch);
+    }
+
+    private static HandlerMethod handler(Object bean, String method) throws NoSuchMethodException {
+        return new HandlerMethod(bean, bean.getClass().getMethod(method));
+    }
+
+    @RestController
+    public static class TestController {
+        public String ok() {
+            return "ok";
+        }
+    }
+}
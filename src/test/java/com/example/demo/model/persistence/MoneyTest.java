@@ -0,0 +1,55 @@
+package com.example.demo.model.persistence;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class MoneyTest {
+
+    @Test
+    public void whenConvertedFromBigDecimal_thenMinorUnitsAreExact() {
+        Money money = Money.of(new BigDecimal("21.45"));
+
+        assertEquals(money.getMinorUnits(), 2145);
+        assertEquals(money.toBigDecimal(), new BigDecimal("21.45"));
+        assertEquals(Money.of(new BigDecimal("3")).getMinorUnits(), 300);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void whenAmountHasTooManyFractionDigits_thenConversionFails() {
+        Money.of(new BigDecimal("1.005"));
+    }
+
+    @Test
+    public void whenAddingMultiples_thenResultMatchesBigDecimalArithmetic() {
+        Money total = Money.ZERO
+                .plusTimes(Money.of(new BigDecimal("2.99")), 3)
+                .plusTimes(Money.of(new BigDecimal("1.99")), -1);
+
+        BigDecimal expected = new BigDecimal("2.99").multiply(BigDecimal.valueOf(3)).subtract(new BigDecimal("1.99"));
+        assertEquals(total.toBigDecimal(), expected);
+    }
+
+    @Test(expected = ArithmeticException.class)
+    public void whenSumOverflows_thenArithmeticExceptionIsThrown() {
+        Money.ofMinor(Long.MAX_VALUE).plus(Money.ofMinor(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void whenCurrenciesDiffer_thenArithmeticIsRejected() {
+        Money.ofMinor(100).plus(Money.ofMinor(100, Currency.getInstance("EUR")));
+    }
+
+    @Test
+    public void whenConvertedForPersistence_thenMinorUnitsAreStored() {
+        MoneyConverter converter = new MoneyConverter();
+
+        assertEquals(converter.convertToDatabaseColumn(Money.ofMinor(2145)), Long.valueOf(2145));
+        assertEquals(converter.convertToEntityAttribute(2145L), Money.ofMinor(2145));
+        assertNull(converter.convertToDatabaseColumn(null));
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BoundedPasswordEncoderTest {
+
+    private static final String RAW_PASSWORD = "test_password";
+    private static final String ENCODED_PASSWORD = "encoded_password";
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PasswordEncoder delegate = mock(PasswordEncoder.class);
+    private ExecutorService callers = Executors.newCachedThreadPool();
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @After
+    public void tearDown() {
+        callers.shutdownNow();
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    public void whenPoolHasCapacity_thenWorkIsDelegated() {
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 1000, meterRegistry);
+        when(delegate.encode(RAW_PASSWORD)).thenReturn(ENCODED_PASSWORD);
+        when(delegate.matches(RAW_PASSWORD, ENCODED_PASSWORD)).thenReturn(true);
+
+        assertEquals(passwordEncoder.encode(RAW_PASSWORD), ENCODED_PASSWORD);
+        assertTrue(passwordEncoder.matches(RAW_PASSWORD, ENCODED_PASSWORD));
+        assertEquals(meterRegistry.get("security.password.hashing").tag("operation", "encode").timer().count(), 1);
+        assertEquals(meterRegistry.get("security.password.hashing").tag("operation", "matches").timer().count(), 1);
+    }
+
+    @Test(expected = PasswordHashingUnavailableException.class)
+    public void whenPoolAndQueueAreFull_thenRequestIsRejected() throws InterruptedException {
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 10_000, meterRegistry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return ENCODED_PASSWORD;
+        });
+
+        try {
+            // one task occupies the only thread, a second one waits in the only queue slot
+            callers.submit(() -> passwordEncoder.encode(RAW_PASSWORD));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            callers.submit(() -> passwordEncoder.encode(RAW_PASSWORD));
+            waitForQueuedTask();
+
+            passwordEncoder.encode(RAW_PASSWORD);
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test(expected = PasswordHashingUnavailableException.class)
+    public void whenHashingTakesTooLong_thenRequestTimesOut() {
+        passwordEncoder = new BoundedPasswordEncoder(delegate, 1, 1, 10, meterRegistry);
+        when(delegate.encode(any())).thenAnswer(invocation -> {
+            Thread.sleep(1000);
+            return ENCODED_PASSWORD;
+        });
+
+        passwordEncoder.encode(RAW_PASSWORD);
+    }
+
+    private void waitForQueuedTask() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("security.password.hashing.queued").gauge().value() < 1 && System.currentTimeMillis() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+}
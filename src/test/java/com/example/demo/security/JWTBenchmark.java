@@ -0,0 +1,63 @@
+package com.example.demo.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTVerifier;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issuing as done by {@link JWTAuthenticationFilter} and the verification paths of
+ * {@link JWTAuthorizationFilter}: a verifier built per request, one shared verifier, and the
+ * caching {@link JWTTokenVerifier}. Lives in this package for access to {@link SecurityConstants}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JWTBenchmark {
+
+    private static final String SUBJECT = "benchmark";
+
+    private String token;
+    private JWTVerifier sharedVerifier;
+    private JWTTokenVerifier tokenVerifier;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        token = sign();
+        sharedVerifier = JWT.require(Algorithm.HMAC512(SecurityConstants.SECRET.getBytes())).build();
+        tokenVerifier = new JWTTokenVerifier(new SimpleMeterRegistry(), 10_000);
+    }
+
+    @Benchmark
+    public String sign() {
+        return JWT.create()
+                .withSubject(SUBJECT)
+                .withExpiresAt(new Date(System.currentTimeMillis() + SecurityConstants.EXPIRATION_TIME))
+                .sign(Algorithm.HMAC512(SecurityConstants.SECRET.getBytes()));
+    }
+
+    @Benchmark
+    public DecodedJWT verifyWithNewVerifier() {
+        return JWT.require(Algorithm.HMAC512(SecurityConstants.SECRET.getBytes()))
+                .build()
+                .verify(token);
+    }
+
+    @Benchmark
+    public DecodedJWT verifyWithSharedVerifier() {
+        return sharedVerifier.verify(token);
+    }
+
+    @Benchmark
+    public String verifyCached() {
+        return tokenVerifier.verify(token);
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.demo.security;
+
+import com.auth0.jwt.JWT;
+import com.auth0.jwt.algorithms.Algorithm;
+import com.auth0.jwt.exceptions.JWTVerificationException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+
+public class JWTTokenVerifierTest {
+
+    private static final String USERNAME = "username";
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private JWTTokenVerifier tokenVerifier;
+
+    @Before
+    public void setup() {
+        tokenVerifier = new JWTTokenVerifier(meterRegistry, 100);
+    }
+
+    @Test
+    public void whenTokenIsVerifiedTwice_thenSignatureIsCheckedOnce() {
+        String token = createToken(USERNAME, new Date(System.currentTimeMillis() + 60_000), SecurityConstants.SECRET);
+
+        assertEquals(tokenVerifier.verify(token), USERNAME);
+        assertEquals(tokenVerifier.verify(token), USERNAME);
+
+        assertEquals(meterRegistry.get("security.jwt.verify").timer().count(), 1);
+        assertEquals(meterRegistry.get("cache.gets").tag("cache", "jwt.verified").tag("result", "hit").functionCounter().count(), 1.0, 0.0);
+    }
+
+    @Test(expected = JWTVerificationException.class)
+    public void whenTokenIsExpired_thenVerificationFails() {
+        String token = createToken(USERNAME, new Date(System.currentTimeMillis() - 60_000), SecurityConstants.SECRET);
+
+        tokenVerifier.verify(token);
+    }
+
+    @Test(expected = JWTVerificationException.class)
+    public void whenTokenIsSignedWithAnotherSecret_thenVerificationFails() {
+        String token = createToken(USERNAME, new Date(System.currentTimeMillis() + 60_000), "another_secret");
+
+        tokenVerifier.verify(token);
+    }
+
+    private static String createToken(String subject, Date expiresAt, String secret) {
+        return JWT.create()
+                .withSubject(subject)
+                .withExpiresAt(expiresAt)
+                .sign(Algorithm.HMAC512(secret.getBytes()));
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.demo.security;
+
+import com.example.demo.model.persistence.repositories.UserCredentials;
+import com.example.demo.model.persistence.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class UserDetailsServiceImplTest {
+
+    private static final String TEST_USERNAME = "test_username";
+    private static final String PASSWORD_HASH = "password_hash";
+    private static final String NEW_PASSWORD_HASH = "new_password_hash";
+
+    private UserRepository userRepository = mock(UserRepository.class);
+    private UserCredentialsCache credentialsCache;
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Before
+    public void setup() {
+        credentialsCache = new UserCredentialsCache(userRepository, new SimpleMeterRegistry(), 100, 60);
+        userDetailsService = new UserDetailsServiceImpl(credentialsCache);
+    }
+
+    @Test
+    public void whenUserIsLoadedTwice_thenCredentialsAreQueriedOnce() {
+        when(userRepository.findCredentialsByUsername(TEST_USERNAME)).thenReturn(credentials(PASSWORD_HASH));
+
+        UserDetails first = userDetailsService.loadUserByUsername(TEST_USERNAME);
+        UserDetails second = userDetailsService.loadUserByUsername(TEST_USERNAME);
+
+        assertEquals(first.getPassword(), PASSWORD_HASH);
+        assertEquals(second.getUsername(), TEST_USERNAME);
+        verify(userRepository, times(1)).findCredentialsByUsername(TEST_USERNAME);
+    }
+
+    @Test
+    public void whenCredentialsAreInvalidated_thenNextLoadSeesNewPassword() {
+        when(userRepository.findCredentialsByUsername(TEST_USERNAME)).thenReturn(credentials(PASSWORD_HASH));
+        userDetailsService.loadUserByUsername(TEST_USERNAME);
+
+        when(userRepository.findCredentialsByUsername(TEST_USERNAME)).thenReturn(credentials(NEW_PASSWORD_HASH));
+        credentialsCache.invalidate(TEST_USERNAME);
+
+        assertEquals(userDetailsService.loadUserByUsername(TEST_USERNAME).getPassword(), NEW_PASSWORD_HASH);
+    }
+
+    @Test(expected = UsernameNotFoundException.class)
+    public void whenUserDoesNotExist_thenUsernameNotFoundIsThrown() {
+        userDetailsService.loadUserByUsername(TEST_USERNAME);
+    }
+
+    private static UserCredentials credentials(String passwordHash) {
+        return new UserCredentials() {
+            @Override
+            public String getUsername() {
+                return TEST_USERNAME;
+            }
+
+            @Override
+            public String getPassword() {
+                return passwordHash;
+            }
+        };
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.sql;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Query budgets for tests. Against MockMvc the budget is read from the {@value QueryStatsFilter#HEADER}
+ * response header, which needs {@code metrics.sql.response-header=true}:
+ * <pre>
+ * mockMvc.perform(get("/api/order/history/admin"))
+ *         .andExpect(QueryBudget.statementsAtMost(3))
+ *         .andExpect(QueryBudget.collectionFetchesAtMost(0));
+ * </pre>
+ * Code called directly can be measured with {@link #measure(Runnable)}.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    public static ResultMatcher statementsAtMost(long max) {
+        return result -> assertAtMost(result, "statements", max);
+    }
+
+    public static ResultMatcher entitiesAtMost(long max) {
+        return result -> assertAtMost(result, "entities", max);
+    }
+
+    public static ResultMatcher collectionFetchesAtMost(long max) {
+        return result -> assertAtMost(result, "collections", max);
+    }
+
+    /**
+     * Runs {@code work} on the current thread and returns the database work it caused.
+     */
+    public static QueryStats measure(Runnable work) {
+        QueryStats stats = new QueryStats();
+        QueryStats previous = QueryStatsContext.bind(stats);
+        try {
+            work.run();
+        } finally {
+            QueryStatsContext.bind(previous);
+        }
+        return stats;
+    }
+
+    static long count(MvcResult result, String name) {
+        String header = result.getResponse().getHeader(QueryStatsFilter.HEADER);
+        assertNotNull("no " + QueryStatsFilter.HEADER + " header; is metrics.sql.response-header enabled?", header);
+        for (String entry : header.split(";")) {
+            String[] pair = entry.split("=", 2);
+            if (pair[0].equals(name)) {
+                return Long.parseLong(pair[1]);
+            }
+        }
+        throw new AssertionError("no " + name + " in " + header);
+    }
+
+    private static void assertAtMost(MvcResult result, String name, long max) {
+        long actual = count(result, name);
+        assertTrue(result.getRequest().getRequestURI() + " used " + actual + " " + name + ", budget is " + max
+                + " (" + result.getResponse().getHeader(QueryStatsFilter.HEADER) + ")", actual <= max);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.demo.startup;
+
+import com.example.demo.model.persistence.repositories.ItemRepository;
+import com.example.demo.model.persistence.repositories.UserRepository;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Boots the prod profile on its own database, so Hibernate validates the entities against
+ * db/schema.sql rather than against tables another test context generated.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:prod-startup;DB_CLOSE_DELAY=-1")
+@ActiveProfiles("prod")
+public class ProdProfileStartupTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private StartupTimings startupTimings;
+
+    @Test
+    public void whenProdProfileIsActive_thenSwaggerAndItemImportAreOffAndSeedingIsDeferred() throws InterruptedException {
+        assertFalse(context.containsBean("api"));
+        assertFalse(context.containsBean("itemImportController"));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!userRepository.existsByUsername("admin") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(userRepository.existsByUsername("admin"));
+        assertTrue(itemRepository.count() > 0);
+    }
+
+    @Test
+    public void whenApplicationIsRunning_thenStartupPhasesAreRecorded() {
+        String phases = startupTimings.phases().stream()
+                .map(StartupTimings.Phase::getName)
+                .collect(Collectors.joining(","));
+
+        assertTrue(phases, phases.contains("context refresh"));
+        assertTrue(phases, phases.contains("jpa bootstrap"));
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.demo.web;
+
+import com.example.demo.catalog.ItemCatalog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletResponse;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConditionalGetInterceptorTest {
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ItemCatalog itemCatalog = mock(ItemCatalog.class);
+    private ConditionalGetInterceptor interceptor = new ConditionalGetInterceptor(itemCatalog, meterRegistry);
+    private ConditionalGetResponseAdvice advice = new ConditionalGetResponseAdvice();
+
+    @Test
+    public void whenCatalogTagMatches_thenNotModifiedIsReturnedWithoutCallingHandler() throws Exception {
+        when(itemCatalog.version()).thenReturn(7L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/item");
+        request.addHeader("If-None-Match", "\"items-7\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, handler("items")));
+        assertEquals(response.getStatus(), HttpServletResponse.SC_NOT_MODIFIED);
+        assertEquals(meterRegistry.get("http.conditional.requests").tag("resource", "catalog").tag("result", "not_modified").counter().count(), 1.0, 0.0);
+    }
+
+    @Test
+    public void whenCatalogChanged_thenHandlerRunsWithNewTag() throws Exception {
+        when(itemCatalog.version()).thenReturn(8L);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/item");
+        request.addHeader("If-None-Match", "\"items-7\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler("items")));
+        writeBody(request, response, HttpServletResponse.SC_OK);
+        assertEquals(response.getStatus(), HttpServletResponse.SC_OK);
+        assertEquals(response.getHeader("ETag"), "\"items-8\"");
+        assertEquals(meterRegistry.get("http.conditional.hit.ratio").tag("resource", "catalog").gauge().value(), 0.0, 0.0);
+    }
+
+    @Test
+    public void whenOrderTagMatches_thenNotModifiedIsReturned() throws Exception {
+        MockHttpServletRequest request = orderRequest("test", "5");
+        request.addHeader("If-None-Match", "\"order-test-5\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertFalse(interceptor.preHandle(request, response, handler("order")));
+        assertEquals(response.getStatus(), HttpServletResponse.SC_NOT_MODIFIED);
+        assertEquals(meterRegistry.get("http.conditional.hit.ratio").tag("resource", "order").gauge().value(), 1.0, 0.0);
+    }
+
+    @Test
+    public void whenOrderBelongsToAnotherUser_thenTagDoesNotMatch() throws Exception {
+        MockHttpServletRequest request = orderRequest("other", "5");
+        request.addHeader("If-None-Match", "\"order-test-5\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler("order")));
+        writeBody(request, response, HttpServletResponse.SC_OK);
+        assertEquals(response.getHeader("ETag"), "\"order-other-5\"");
+    }
+
+    @Test
+    public void whenOrderIsNotFound_thenNoTagIsSet() throws Exception {
+        MockHttpServletRequest request = orderRequest("test", "999");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler("order")));
+        writeBody(request, response, HttpServletResponse.SC_NOT_FOUND);
+        assertNull(response.getHeader("ETag"));
+    }
+
+    @Test
+    public void whenHandlerIsNotAnnotated_thenNoTagIsSet() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/order/history/test");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertTrue(interceptor.preHandle(request, response, handler("plain")));
+        assertNull(response.getHeader("ETag"));
+    }
+
+    private static MockHttpServletRequest orderRequest(String username, String orderId) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/order/history/" + username + "/" + orderId);
+        Map<String, String> variables = new HashMap<>();
+        variables.put("username", username);
+        variables.put("orderId", orderId);
+        request.setAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE, variables);
+        return request;
+    }
+
+    // what Spring MVC does after the handler returned a ResponseEntity with this status
+    private void writeBody(MockHttpServletRequest request, MockHttpServletResponse response, int status) {
+        response.setStatus(status);
+        advice.beforeBodyWrite(null, null, null, null, new ServletServerHttpRequest(request), new ServletServerHttpResponse(response));
+    }
+
+    private static HandlerMethod handler(String method) throws NoSuchMethodException {
+        TestController controller = new TestController();
+        return new HandlerMethod(controller, TestController.class.getMethod(method));
+    }
+
+    public static class TestController {
+        @ConditionalGet(ConditionalGet.Source.CATALOG)
+        public String items() {
+            return "items";
+        }
+
+        @ConditionalGet(ConditionalGet.Source.ORDER)
+        public String order() {
+            return "order";
+        }
+
+        public String plain() {
+            return "plain";
+        }
+    }
+}